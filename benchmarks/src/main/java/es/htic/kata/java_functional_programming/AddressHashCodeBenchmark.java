@@ -0,0 +1,116 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Address;
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.AddressAsRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of hashCode for the Address value objects, alone and as HashMap keys in an aggregation loop.
+ * - cached: Address with its lazily cached hash
+ * - record: AddressAsRecord, hash generated by the record and recomputed on every call
+ * - objectsHash: previous Address implementation based on Objects.hash(street, city)
+ * Every key is a distinct instance, equal to the ones sharing its street, and built without interning:
+ * HashMap lookups go through equals instead of succeeding on identity, so only the hash computation differs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressHashCodeBenchmark {
+
+    private static final int DISTINCT_ADDRESSES = 1_000;
+    private static final int RECORDS = 100_000;
+
+    private Address[] cached;
+    private AddressAsRecord[] records;
+    private ObjectsHashAddress[] objectsHash;
+
+    @Setup
+    public void setUp() {
+        cached = new Address[RECORDS];
+        records = new AddressAsRecord[RECORDS];
+        objectsHash = new ObjectsHashAddress[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            String street = "Calle Mayor " + (i % DISTINCT_ADDRESSES);
+            String city = "Salamanca";
+            cached[i] = new Address(street, city); // Address.of would return the canonical, interned instance
+            records[i] = new AddressAsRecord(street, city);
+            objectsHash[i] = new ObjectsHashAddress(street, city);
+        }
+    }
+
+    @Benchmark
+    public int hashCodeCached() {
+        return cached[0].hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeRecord() {
+        return records[0].hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeObjectsHash() {
+        return objectsHash[0].hashCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public Map<Address, Integer> aggregateCached() {
+        return aggregate(cached);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public Map<AddressAsRecord, Integer> aggregateRecord() {
+        return aggregate(records);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public Map<ObjectsHashAddress, Integer> aggregateObjectsHash() {
+        return aggregate(objectsHash);
+    }
+
+    private static <K> Map<K, Integer> aggregate(K[] keys) {
+        Map<K, Integer> counts = new HashMap<>();
+        for (K key : keys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Copy of the previous Address implementation, hashing with Objects.hash on every call
+     */
+    static final class ObjectsHashAddress {
+        private final String street;
+        private final String city;
+
+        ObjectsHashAddress(String street, String city) {
+            this.street = street;
+            this.city = city;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ObjectsHashAddress address = (ObjectsHashAddress) o;
+            return Objects.equals(street, address.street) &&
+                    Objects.equals(city, address.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(street, city);
+        }
+    }
+}
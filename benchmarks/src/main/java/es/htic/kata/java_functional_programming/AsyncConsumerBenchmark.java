@@ -0,0 +1,85 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cost for the producer of a side effect of about 100 ns: run on the caller thread, or published to an
+ * {@link AsyncConsumer} with each wait strategy, from one producer and from four.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncConsumerBenchmark {
+    private static final Consumer<Integer> SIDE_EFFECT = value -> Blackhole.consumeCPU(100);
+
+    @State(Scope.Benchmark)
+    public static class SingleProducer {
+        @Param({"BUSY_SPIN", "YIELD", "PARK"})
+        private AsyncConsumer.WaitStrategy waitStrategy;
+
+        private AsyncConsumer<Integer> async;
+
+        @Setup
+        public void setUp() {
+            async = AsyncConsumer.builder()
+                    .producerType(AsyncConsumer.ProducerType.SINGLE)
+                    .waitStrategy(waitStrategy)
+                    .latencySampleRate(64)
+                    .build(SIDE_EFFECT);
+        }
+
+        @TearDown
+        public void tearDown() {
+            async.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MultiProducer {
+        @Param({"BUSY_SPIN", "YIELD", "PARK"})
+        private AsyncConsumer.WaitStrategy waitStrategy;
+
+        private AsyncConsumer<Integer> async;
+
+        @Setup
+        public void setUp() {
+            async = AsyncConsumer.builder()
+                    .producerType(AsyncConsumer.ProducerType.MULTI)
+                    .waitStrategy(waitStrategy)
+                    .latencySampleRate(64)
+                    .build(SIDE_EFFECT);
+        }
+
+        @TearDown
+        public void tearDown() {
+            async.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Value {
+        private Integer value = 1_000;
+    }
+
+    @Benchmark
+    public void synchronous(Value value) {
+        SIDE_EFFECT.accept(value.value);
+    }
+
+    @Benchmark
+    public void singleProducer(SingleProducer producer, Value value) {
+        producer.async.accept(value.value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void multiProducer4Threads(MultiProducer producer, Value value) {
+        producer.async.accept(value.value);
+    }
+}
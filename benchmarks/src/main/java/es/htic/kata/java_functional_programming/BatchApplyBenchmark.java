@@ -0,0 +1,66 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static es.htic.kata.java_functional_programming.FunctionChain.*;
+
+/**
+ * A ten stage chain applied to 4M ints: element by element, with {@link BatchApply} sequentially,
+ * and with {@link BatchApply} in parallel on pools of 1, 2, 4 and 8 threads (throughput per core count)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchApplyBenchmark {
+    private static final int SIZE = 4 * 1024 * 1024;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private int[] source;
+    private int[] destination;
+    private FunctionChain chain;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        source = IntStream.range(0, SIZE).toArray();
+        destination = new int[SIZE];
+        chain = FunctionChain.of(
+                multiply(3), add(1), clamp(0, 1 << 20), square(), add(-7),
+                multiply(5), x -> x ^ (x >>> 7), add(11), clamp(-1 << 24, 1 << 24), multiply(3));
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] perElement() {
+        for (int i = 0; i < SIZE; i++) {
+            destination[i] = chain.applyAsInt(source[i]);
+        }
+        return destination;
+    }
+
+    @Benchmark
+    public int[] batchSequential() {
+        BatchApply.apply(source, destination, chain);
+        return destination;
+    }
+
+    @Benchmark
+    public int[] batchParallel() {
+        BatchApply.parallelApply(source, destination, chain, pool);
+        return destination;
+    }
+}
@@ -0,0 +1,29 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the benchmarks as {@link Main} does, with the GC profiler enabled by default,
+ * so every result also reports the allocation rate and bytes allocated per operation (gc.alloc.rate.norm).
+ * Passing any {@code -prof} option replaces the default profiler.
+ */
+public final class BenchmarkMain {
+    private static final Set<String> NOT_RUNNING = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-prof") && options.stream().noneMatch(NOT_RUNNING::contains)) {
+            options.add("-prof");
+            options.add("gc");
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
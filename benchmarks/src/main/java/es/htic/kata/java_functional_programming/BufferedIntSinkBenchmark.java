@@ -0,0 +1,57 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Printing one million integers through a {@code Consumer<Integer>}:
+ * {@code println} on a PrintStream configured as System.out (autoflush, 128 byte buffer) and {@link BufferedIntSink}.
+ * Both write to a null output stream, so the cost of the system calls saved by the sink is not even counted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BufferedIntSinkBenchmark {
+
+    private List<Integer> numbers;
+    private PrintStream printStream;
+    private BufferedIntSink sink;
+
+    @Setup
+    public void setUp() {
+        numbers = IntStream.range(-500_000, 500_000).boxed().collect(Collectors.toUnmodifiableList());
+        printStream = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 128), true);
+        sink = BufferedIntSink.to(Channels.newChannel(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        printStream.close();
+        sink.close();
+    }
+
+    @Benchmark
+    public void printlnMethodReference() {
+        Consumer<Integer> println = printStream::println;
+        numbers.forEach(println);
+    }
+
+    @Benchmark
+    public void bufferedIntSink() throws IOException {
+        numbers.forEach(sink);
+        sink.flush();
+    }
+}
@@ -0,0 +1,54 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Circle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total area over an array of Circle records versus the columnar CircleBatch kernel
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircleBatchBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private Circle[] circles;
+    private CircleBatch batch;
+
+    @Setup
+    public void setUp() {
+        double[] radii = ThreadLocalRandom.current().doubles(size, 0, 100).toArray();
+        circles = new Circle[size];
+        for (int i = 0; i < size; i++) {
+            circles[i] = new Circle(radii[i]);
+        }
+        batch = CircleBatch.of(radii);
+    }
+
+    @Benchmark
+    public double totalAreaRecords() {
+        double total = 0;
+        for (Circle circle : circles) {
+            total += Math.PI * circle.radius() * circle.radius();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double totalAreaBatch() {
+        return batch.totalArea();
+    }
+
+    @Benchmark
+    public double[] areasBatch() {
+        return batch.areas();
+    }
+}
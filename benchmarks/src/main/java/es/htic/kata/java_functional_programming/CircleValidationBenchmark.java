@@ -0,0 +1,60 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Circle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk ingestion of radii: looping over new Circle(r) and catching the exceptions
+ * versus the single pass CircleBatch.validate, for different ratios of invalid radii
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircleValidationBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"0.0", "0.01", "0.5"})
+    private double invalidRatio;
+
+    private double[] radii;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        radii = new double[size];
+        for (int i = 0; i < size; i++) {
+            double radius = random.nextDouble(100);
+            radii[i] = random.nextDouble() < invalidRatio ? -radius - 1 : radius;
+        }
+    }
+
+    @Benchmark
+    public List<Circle> loopOverConstructor() {
+        List<Circle> circles = new ArrayList<>(radii.length);
+        BitSet rejected = new BitSet();
+        for (int i = 0; i < radii.length; i++) {
+            try {
+                circles.add(new Circle(radii[i]));
+            } catch (IllegalArgumentException e) {
+                rejected.set(i);
+            }
+        }
+        return circles;
+    }
+
+    @Benchmark
+    public CircleBatch.Validated bulkValidate() {
+        return CircleBatch.validate(radii);
+    }
+}
@@ -0,0 +1,71 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Address;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Construction throughput of DataImmutabilityExamples for mutable versus trusted immutable inputs.
+ * After each iteration the mutable input is modified and restored, checking that the last constructed
+ * instance did not keep a reference to it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DataImmutabilityConstructionBenchmark {
+
+    private static final Address ADDRESS = Address.of("Gran Via", "Madrid");
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private List<String> mutableItems;
+    private List<String> immutableItems;
+    private PersistentVector<String> persistentItems;
+    private DataImmutabilityExamples lastFromMutable;
+
+    @Setup
+    public void setUp() {
+        mutableItems = IntStream.range(0, size)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toCollection(ArrayList::new));
+        immutableItems = List.copyOf(mutableItems);
+        persistentItems = PersistentVector.copyOf(mutableItems);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkMutableInputWasCopied() {
+        if (lastFromMutable == null) {
+            return;
+        }
+        mutableItems.set(0, "mutated");
+        boolean leaked = "mutated".equals(lastFromMutable.getImmutableItems().get(0));
+        mutableItems.set(0, "0");
+        if (leaked) {
+            throw new IllegalStateException("Instance built from a mutable list shares it");
+        }
+    }
+
+    @Benchmark
+    public DataImmutabilityExamples fromMutableList() {
+        return lastFromMutable = new DataImmutabilityExamples(mutableItems, ADDRESS);
+    }
+
+    @Benchmark
+    public DataImmutabilityExamples fromImmutableList() {
+        return new DataImmutabilityExamples(immutableItems, ADDRESS);
+    }
+
+    @Benchmark
+    public DataImmutabilityExamples fromPersistentVector() {
+        return new DataImmutabilityExamples(persistentItems, ADDRESS);
+    }
+}
@@ -0,0 +1,78 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Chains of alternating "* 3" and "+ 1" stages at different depths:
+ * nested Function.andThen, nested IntUnaryOperator.andThen, flat FunctionChain, fused FunctionChain and a hand-written loop
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FunctionChainBenchmark {
+
+    @Param({"2", "10", "50", "200"})
+    private int depth;
+
+    private int value;
+    private Function<Integer, Integer> nestedBoxed;
+    private IntUnaryOperator nestedPrimitive;
+    private FunctionChain flat;
+    private FunctionChain fused;
+
+    @Setup
+    public void setUp() {
+        value = 1_000;
+        Function<Integer, Integer> times3 = x -> x * 3;
+        Function<Integer, Integer> plus1 = x -> x + 1;
+        IntUnaryOperator times3Operator = x -> x * 3;
+        IntUnaryOperator plus1Operator = x -> x + 1;
+
+        nestedBoxed = Function.identity();
+        nestedPrimitive = IntUnaryOperator.identity();
+        flat = FunctionChain.identity();
+        for (int i = 0; i < depth; i++) {
+            boolean multiply = i % 2 == 0;
+            nestedBoxed = nestedBoxed.andThen(multiply ? times3 : plus1);
+            nestedPrimitive = nestedPrimitive.andThen(multiply ? times3Operator : plus1Operator);
+            flat = flat.andThen(multiply ? FunctionChain.multiply(3) : FunctionChain.add(1));
+        }
+        fused = flat.fused();
+    }
+
+    @Benchmark
+    public int nestedBoxed() {
+        return nestedBoxed.apply(value);
+    }
+
+    @Benchmark
+    public int nestedPrimitive() {
+        return nestedPrimitive.applyAsInt(value);
+    }
+
+    @Benchmark
+    public int functionChain() {
+        return flat.applyAsInt(value);
+    }
+
+    @Benchmark
+    public int functionChainFused() {
+        return fused.applyAsInt(value);
+    }
+
+    @Benchmark
+    public int handWrittenLoop() {
+        int result = value;
+        for (int i = 0; i < depth; i++) {
+            result = i % 2 == 0 ? result * 3 : result + 1;
+        }
+        return result;
+    }
+}
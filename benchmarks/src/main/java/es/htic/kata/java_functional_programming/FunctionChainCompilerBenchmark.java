@@ -0,0 +1,86 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Compiled (hidden class) versus interpreted FunctionChain, for chains of arithmetic stages with one opaque lambda.
+ * - steady state: average time per call once everything is JIT compiled
+ * - first call: single shot in a fresh JVM, building the function and calling it once. The chain is built
+ *   beforehand, but nothing is fused or compiled until the measured call.
+ */
+public class FunctionChainCompilerBenchmark {
+
+    private static final int VALUE = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Chain {
+        @Param({"10", "50"})
+        private int depth;
+
+        protected FunctionChain chain;
+
+        @Setup
+        public void buildChain() {
+            chain = FunctionChain.identity();
+            for (int i = 0; i < depth; i++) {
+                chain = chain.andThen(i % 2 == 0 ? FunctionChain.multiply(3) : FunctionChain.square());
+            }
+            chain = chain.andThen(x -> x ^ 0x5555);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Prepared extends Chain {
+        private IntUnaryOperator interpreted;
+        private IntUnaryOperator compiled;
+
+        @Setup
+        public void prepare() {
+            interpreted = chain.fused();
+            compiled = FunctionChainCompiler.compile(chain);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public int steadyStateInterpreted(Prepared prepared) {
+        return prepared.interpreted.applyAsInt(VALUE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public int steadyStateCompiled(Prepared prepared) {
+        return prepared.compiled.applyAsInt(VALUE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public int firstCallInterpreted(Chain chain) {
+        return chain.chain.fused().applyAsInt(VALUE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public int firstCallCompiled(Chain chain) {
+        return FunctionChainCompiler.compile(chain.chain).applyAsInt(VALUE);
+    }
+}
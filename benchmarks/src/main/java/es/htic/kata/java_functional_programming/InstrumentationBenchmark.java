@@ -0,0 +1,54 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Overhead of {@link Instrumentation} on a trivial function: not instrumented, timing every call,
+ * and timing one call in 64 and in 1024
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+
+    private int value;
+    private Function<Integer, Integer> plain;
+    private Function<Integer, Integer> timingAll;
+    private Function<Integer, Integer> sampled64;
+    private Function<Integer, Integer> sampled1024;
+
+    @Setup
+    public void setUp() {
+        value = 21;
+        plain = x -> x * 2;
+        timingAll = Instrumentation.timingAll().function("double", plain);
+        sampled64 = Instrumentation.sampledEvery(64).function("double", plain);
+        sampled1024 = Instrumentation.sampledEvery(1024).function("double", plain);
+    }
+
+    @Benchmark
+    public Integer notInstrumented() {
+        return plain.apply(value);
+    }
+
+    @Benchmark
+    public Integer timingAll() {
+        return timingAll.apply(value);
+    }
+
+    @Benchmark
+    public Integer sampledEvery64() {
+        return sampled64.apply(value);
+    }
+
+    @Benchmark
+    public Integer sampledEvery1024() {
+        return sampled1024.apply(value);
+    }
+}
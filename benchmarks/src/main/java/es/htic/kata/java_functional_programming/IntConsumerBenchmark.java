@@ -0,0 +1,62 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Summing 10M ints through the consumers of LambdaExpressionExamples:
+ * - {@code Consumer<Integer>} over a {@code List<Integer>} already built (unboxing per element, pointer chasing)
+ * - {@code Consumer<Integer>} over boxed ints generated on the fly (an Integer allocated per element)
+ * - {@code IntConsumer} over an {@link IntList} (no boxing)
+ * Run with the GC profiler (the default of the benchmark jar) to see allocation and GC counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IntConsumerBenchmark {
+    private static final int SIZE = 10_000_000;
+
+    private List<Integer> boxedNumbers;
+    private IntList numbers;
+    private long sum;
+    private Consumer<Integer> boxedConsumer;
+    private IntConsumer intConsumer;
+
+    @Setup
+    public void setUp() {
+        boxedNumbers = IntStream.range(0, SIZE).boxed().collect(Collectors.toUnmodifiableList());
+        numbers = IntList.range(0, SIZE);
+        boxedConsumer = n -> sum += n;
+        intConsumer = n -> sum += n;
+    }
+
+    @Benchmark
+    public long boxedList() {
+        sum = 0;
+        boxedNumbers.forEach(boxedConsumer);
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedStream() {
+        sum = 0;
+        IntStream.range(0, SIZE).boxed().forEach(boxedConsumer);
+        return sum;
+    }
+
+    @Benchmark
+    public long intList() {
+        sum = 0;
+        numbers.forEach(intConsumer);
+        return sum;
+    }
+}
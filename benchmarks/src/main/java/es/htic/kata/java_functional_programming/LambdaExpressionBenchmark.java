@@ -0,0 +1,87 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The consumers of LambdaExpressionExamples, printing replaced by the Blackhole:
+ * anonymous class, lambda expression and method reference.
+ * - {@code forEach*} pass an existing consumer to {@code List.forEach}
+ * - {@code create*} build a new capturing consumer and call it once, as a pipeline built per request would
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LambdaExpressionBenchmark {
+
+    private List<Integer> numbers;
+    private Integer number;
+    private Consumer<Integer> anonymousClass;
+    private Consumer<Integer> lambdaExpression;
+    private Consumer<Integer> methodReference;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        numbers = IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toUnmodifiableList());
+        number = 1_000;
+        anonymousClass = anonymousClass(blackhole);
+        lambdaExpression = lambdaExpression(blackhole);
+        methodReference = methodReference(blackhole);
+    }
+
+    @Benchmark
+    public void forEachAnonymousClass() {
+        numbers.forEach(anonymousClass);
+    }
+
+    @Benchmark
+    public void forEachLambdaExpression() {
+        numbers.forEach(lambdaExpression);
+    }
+
+    @Benchmark
+    public void forEachMethodReference() {
+        numbers.forEach(methodReference);
+    }
+
+    @Benchmark
+    public void createAnonymousClass(Blackhole blackhole) {
+        anonymousClass(blackhole).accept(number);
+    }
+
+    @Benchmark
+    public void createLambdaExpression(Blackhole blackhole) {
+        lambdaExpression(blackhole).accept(number);
+    }
+
+    @Benchmark
+    public void createMethodReference(Blackhole blackhole) {
+        methodReference(blackhole).accept(number);
+    }
+
+    private static Consumer<Integer> anonymousClass(Blackhole blackhole) {
+        return new Consumer<Integer>() {
+            @Override
+            public void accept(Integer n) {
+                blackhole.consume(n);
+            }
+        };
+    }
+
+    private static Consumer<Integer> lambdaExpression(Blackhole blackhole) {
+        return n -> blackhole.consume(n);
+    }
+
+    private static Consumer<Integer> methodReference(Blackhole blackhole) {
+        return blackhole::consume;
+    }
+}
@@ -0,0 +1,87 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reading an already evaluated lazy value, with one and with four threads:
+ * {@link Lazy} (acquire read, no lock) against a supplier memoized with {@code synchronized}.
+ * Creating and evaluating a new lazy value once is measured too.
+ * The JDK's StableValue is left out, as it is not available on the Java version this project builds for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+
+    private Lazy<String> lazy;
+    private Supplier<String> synchronizedSupplier;
+
+    @Setup
+    public void setUp() {
+        lazy = Lazy.of(() -> "value");
+        lazy.get();
+        synchronizedSupplier = new SynchronizedMemo<>(() -> "value");
+        synchronizedSupplier.get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String lazyGet() {
+        return lazy.get();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String lazyGet4Threads() {
+        return lazy.get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String synchronizedGet() {
+        return synchronizedSupplier.get();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String synchronizedGet4Threads() {
+        return synchronizedSupplier.get();
+    }
+
+    @Benchmark
+    public String lazyCreateAndEvaluate() {
+        return Lazy.of(() -> "value").get();
+    }
+
+    @Benchmark
+    public String synchronizedCreateAndEvaluate() {
+        return new SynchronizedMemo<>(() -> "value").get();
+    }
+
+    /**
+     * The usual memoizing supplier: every read takes the lock
+     */
+    private static final class SynchronizedMemo<T> implements Supplier<T> {
+        private Supplier<T> supplier;
+        private T value;
+
+        private SynchronizedMemo(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public synchronized T get() {
+            if (supplier != null) {
+                value = supplier.get();
+                supplier = null;
+            }
+            return value;
+        }
+    }
+}
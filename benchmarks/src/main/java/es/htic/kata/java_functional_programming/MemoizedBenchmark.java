@@ -0,0 +1,76 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Memoized function under contention from 1 to 64 threads, against an unbounded ConcurrentHashMap.computeIfAbsent cache.
+ * Keys are drawn from 20,000 distinct values for a cache of 10,000 entries, 80% of the calls hitting the first 2,000 keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoizedBenchmark {
+
+    private static final int KEYS = 20_000;
+    private static final int HOT_KEYS = 2_000;
+
+    private final Function<Integer, Double> expensive = x -> Math.sqrt(Math.log(x + 1.0) * Math.exp(x % 7));
+    private Memoized<Integer, Double> memoized;
+    private Map<Integer, Double> computeIfAbsentCache;
+
+    @Setup
+    public void setUp() {
+        memoized = Memoized.builder().maximumSize(10_000).build(expensive);
+        computeIfAbsentCache = new ConcurrentHashMap<>();
+    }
+
+    private static Integer nextKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextInt(10) < 8 ? random.nextInt(HOT_KEYS) : random.nextInt(KEYS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Double memoized01Thread() {
+        return memoized.apply(nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Double memoized04Threads() {
+        return memoized.apply(nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Double memoized16Threads() {
+        return memoized.apply(nextKey());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Double memoized64Threads() {
+        return memoized.apply(nextKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Double computeIfAbsent01Thread() {
+        return computeIfAbsentCache.computeIfAbsent(nextKey(), expensive);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Double computeIfAbsent64Threads() {
+        return computeIfAbsentCache.computeIfAbsent(nextKey(), expensive);
+    }
+}
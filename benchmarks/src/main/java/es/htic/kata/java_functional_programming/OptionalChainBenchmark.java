@@ -0,0 +1,61 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Capital name by country code from OptionalTest.testExercise, for a found code ("es") and a missing one ("pt"):
+ * the Optional chain with flatMap and orElse, against the same lookups with null checks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionalChainBenchmark {
+    private static final String DEFAULT_CITY = "Salamanca";
+
+    @Param({"es", "pt"})
+    private String countryCode;
+
+    private Function<String, String> findCapitalNameByCountryCode;
+
+    @Setup
+    public void setUp() {
+        Function<String, Optional<String>> findCountryNameByCountryCode =
+                code -> Optional.ofNullable(countryName(code));
+        Function<String, Optional<String>> findCapitalNameByCountryName =
+                countryName -> Optional.ofNullable(capitalName(countryName));
+        findCapitalNameByCountryCode = code -> findCountryNameByCountryCode
+                .apply(code)
+                .flatMap(findCapitalNameByCountryName)
+                .orElse(DEFAULT_CITY);
+    }
+
+    @Benchmark
+    public String optionalChain() {
+        return findCapitalNameByCountryCode.apply(countryCode);
+    }
+
+    @Benchmark
+    public String nullChecks() {
+        String countryName = countryName(countryCode);
+        if (countryName == null) {
+            return DEFAULT_CITY;
+        }
+        String capitalName = capitalName(countryName);
+        return capitalName == null ? DEFAULT_CITY : capitalName;
+    }
+
+    private static String countryName(String countryCode) {
+        return "es".equalsIgnoreCase(countryCode) ? "Spain" : null;
+    }
+
+    private static String capitalName(String countryName) {
+        return "Spain".equalsIgnoreCase(countryName) ? "Madrid" : null;
+    }
+}
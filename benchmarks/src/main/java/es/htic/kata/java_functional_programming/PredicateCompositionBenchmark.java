@@ -0,0 +1,57 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Numbers from 1 to 100 divisible by two and by three, as in testUsePredicatesToFilterCollections:
+ * one filter with {@code Predicate.and}, two chained filters, and one filter with a single lambda
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateCompositionBenchmark {
+
+    private List<Integer> numbers;
+    private Predicate<Integer> isDivisibleByTwo;
+    private Predicate<Integer> isDivisibleByThree;
+    private Predicate<Integer> isDivisibleByTwoAndByThree;
+
+    @Setup
+    public void setUp() {
+        numbers = IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toUnmodifiableList());
+        isDivisibleByTwo = n -> n % 2 == 0;
+        isDivisibleByThree = n -> n % 3 == 0;
+        isDivisibleByTwoAndByThree = isDivisibleByTwo.and(isDivisibleByThree);
+    }
+
+    @Benchmark
+    public List<Integer> predicateAnd() {
+        return numbers.stream()
+                .filter(isDivisibleByTwoAndByThree)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> chainedFilters() {
+        return numbers.stream()
+                .filter(isDivisibleByTwo)
+                .filter(isDivisibleByThree)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> singleLambda() {
+        return numbers.stream()
+                .filter(n -> n % 2 == 0 && n % 3 == 0)
+                .collect(Collectors.toList());
+    }
+}
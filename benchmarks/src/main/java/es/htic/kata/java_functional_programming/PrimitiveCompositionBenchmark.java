@@ -0,0 +1,70 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * squareFunction.andThen(doubleFunction) from FunctionsAsFirstClassCitizens, boxed versus on primitives,
+ * applied to values outside the Integer cache so that boxing really allocates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveCompositionBenchmark {
+
+    private static final int VALUES = 1_024;
+
+    private int[] values;
+    private Function<Integer, Integer> boxedSquareThenDouble;
+    private IntUnaryOperator primitiveSquareThenDouble;
+    private IntUnaryOperator adaptedSquareThenDouble;
+
+    @Setup
+    public void setUp() {
+        values = new int[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = 1_000 + i;
+        }
+        Function<Integer, Integer> squareFunction = x -> x * x;
+        Function<Integer, Integer> doubleFunction = x -> x * 2;
+        boxedSquareThenDouble = squareFunction.andThen(doubleFunction);
+        primitiveSquareThenDouble = PrimitiveFunctions.intChain(x -> x * x, x -> x * 2);
+        adaptedSquareThenDouble = PrimitiveFunctions.intChain(PrimitiveFunctions.ofInt(squareFunction), PrimitiveFunctions.ofInt(doubleFunction));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int boxed() {
+        int sum = 0;
+        for (int value : values) {
+            sum += boxedSquareThenDouble.apply(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int primitive() {
+        int sum = 0;
+        for (int value : values) {
+            sum += primitiveSquareThenDouble.applyAsInt(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int adaptedFromBoxed() {
+        int sum = 0;
+        for (int value : values) {
+            sum += adaptedSquareThenDouble.applyAsInt(value);
+        }
+        return sum;
+    }
+}
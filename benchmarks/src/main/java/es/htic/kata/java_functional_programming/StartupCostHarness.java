@@ -0,0 +1,294 @@
+package es.htic.kata.java_functional_programming;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the startup cost of N distinct lambdas, anonymous classes and method references, in fresh JVMs.
+ * - For each kind, generates a class creating N distinct {@code IntUnaryOperator}s and calling each one once,
+ *   and compiles it with {@link javax.tools.JavaCompiler}
+ * - Runs it in forked JVMs, which report the time to create and first call all of them, the number of classes
+ *   loaded meanwhile (anonymous classes from class files, hidden classes spun by {@code LambdaMetafactory})
+ *   and the Metaspace used by them. The harness also times the whole JVM process.
+ * - Each kind runs without CDS ({@code -Xshare:off}), with the default CDS archive of the JDK, and with
+ *   {@code --appcds}, with a dynamic AppCDS archive recorded by a first run ({@code -XX:ArchiveClassesAtExit}),
+ *   which also archives the lambda proxy classes
+ * - Prints the median of every measure as a table
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar es.htic.kata.java_functional_programming.StartupCostHarness --count 1000 --runs 5 --appcds
+ * </pre>
+ */
+public final class StartupCostHarness {
+    private static final String PACKAGE = "startup";
+    private static final int OPERATORS_PER_METHOD = 250; // Keeps the generated methods below the 64 KiB bytecode limit
+    private static final String[] MEASURES = {"firstCallNanos", "loadedClasses", "metaspaceBytes", "processNanos"};
+
+    private StartupCostHarness() {
+    }
+
+    enum Kind {
+        LAMBDA {
+            @Override
+            String operator(int i) {
+                return "x -> x + " + i;
+            }
+        },
+        ANONYMOUS_CLASS {
+            @Override
+            String operator(int i) {
+                return "new IntUnaryOperator() { @Override public int applyAsInt(int x) { return x + " + i + "; } }";
+            }
+        },
+        METHOD_REFERENCE {
+            @Override
+            String operator(int i) {
+                return className() + "::add" + i;
+            }
+
+            @Override
+            void members(StringBuilder source, int count) {
+                for (int i = 0; i < count; i++) {
+                    source.append("    static int add").append(i).append("(int x) { return x + ").append(i).append("; }\n");
+                }
+            }
+        };
+
+        abstract String operator(int i);
+
+        void members(StringBuilder source, int count) {
+        }
+
+        String className() {
+            StringBuilder name = new StringBuilder("Generated");
+            for (String word : name().split("_")) {
+                name.append(word.charAt(0)).append(word.substring(1).toLowerCase(Locale.ROOT));
+            }
+            return name.toString();
+        }
+    }
+
+    enum Mode {
+        NO_CDS, DEFAULT_CDS, APPCDS
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = 1_000;
+        int runs = 5;
+        boolean appCds = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count":
+                    count = Integer.parseInt(args[++i]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--appcds":
+                    appCds = true;
+                    break;
+                default:
+                    usage();
+            }
+        }
+        if (count <= 0 || runs <= 0) {
+            usage();
+        }
+
+        Path directory = Files.createTempDirectory("startup-cost");
+        try {
+            Path jar = compile(directory, count);
+            List<Mode> modes = appCds ? List.of(Mode.values()) : List.of(Mode.NO_CDS, Mode.DEFAULT_CDS);
+            Map<String, Map<String, Long>> results = new LinkedHashMap<>();
+            for (Kind kind : Kind.values()) {
+                Path archive = directory.resolve(kind.className() + ".jsa");
+                if (appCds) {
+                    run(jar, kind, "-XX:ArchiveClassesAtExit=" + archive); // Records the archive
+                }
+                for (Mode mode : modes) {
+                    List<Map<String, Long>> measures = new ArrayList<>();
+                    for (int run = 0; run < runs; run++) {
+                        measures.add(run(jar, kind, jvmOption(mode, archive)));
+                    }
+                    results.put(kind + " " + mode, median(measures));
+                }
+            }
+            System.out.println(report(count, runs, results));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: StartupCostHarness [--count N] [--runs R] [--appcds], with N and R positive");
+        System.exit(2);
+    }
+
+    static String source(Kind kind, int count) {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n")
+                .append("import java.lang.management.ManagementFactory;\n")
+                .append("import java.lang.management.MemoryPoolMXBean;\n")
+                .append("import java.util.function.IntUnaryOperator;\n\n")
+                .append("public class ").append(kind.className()).append(" {\n");
+        kind.members(source, count);
+        for (int from = 0; from < count; from += OPERATORS_PER_METHOD) {
+            source.append("    static void create").append(from).append("(IntUnaryOperator[] operators) {\n");
+            for (int i = from; i < Math.min(from + OPERATORS_PER_METHOD, count); i++) {
+                source.append("        operators[").append(i).append("] = ").append(kind.operator(i)).append(";\n");
+            }
+            source.append("    }\n");
+        }
+        source.append("    public static void main(String[] args) {\n")
+                .append("        MemoryPoolMXBean metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()\n")
+                .append("                .filter(pool -> pool.getName().equals(\"Metaspace\")).findFirst().orElseThrow();\n")
+                .append("        long classesBefore = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();\n")
+                .append("        long metaspaceBefore = metaspace.getUsage().getUsed();\n")
+                .append("        long start = System.nanoTime();\n")
+                .append("        IntUnaryOperator[] operators = new IntUnaryOperator[").append(count).append("];\n");
+        for (int from = 0; from < count; from += OPERATORS_PER_METHOD) {
+            source.append("        create").append(from).append("(operators);\n");
+        }
+        source.append("        long sum = 0;\n")
+                .append("        for (IntUnaryOperator operator : operators) {\n")
+                .append("            sum += operator.applyAsInt(1);\n")
+                .append("        }\n")
+                .append("        long elapsed = System.nanoTime() - start;\n")
+                .append("        System.out.println(\"firstCallNanos=\" + elapsed);\n")
+                .append("        System.out.println(\"loadedClasses=\" + (ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - classesBefore));\n")
+                .append("        System.out.println(\"metaspaceBytes=\" + (metaspace.getUsage().getUsed() - metaspaceBefore));\n")
+                .append("        System.out.println(\"sum=\" + sum);\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static Path compile(Path directory, int count) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler: run the harness with a JDK");
+        }
+        Path sources = Files.createDirectories(directory.resolve("src").resolve(PACKAGE));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString()));
+        for (Kind kind : Kind.values()) {
+            Path file = sources.resolve(kind.className() + ".java");
+            Files.writeString(file, source(kind, count));
+            arguments.add(file.toString());
+        }
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        if (compiler.run(null, null, errors, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Compilation failed: " + errors.toString(StandardCharsets.UTF_8));
+        }
+        return jar(classes, directory.resolve("generated.jar"));
+    }
+
+    /**
+     * CDS archives only classes loaded from jars: a class path with a non-empty directory is rejected
+     */
+    private static Path jar(Path classes, Path jar) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path file : files) {
+                output.putNextEntry(new JarEntry(classes.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * Deletes the generated sources, classes, jar and archives
+     */
+    private static void delete(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList()); // Children first
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private static String jvmOption(Mode mode, Path archive) {
+        switch (mode) {
+            case NO_CDS:
+                return "-Xshare:off";
+            case APPCDS:
+                return "-XX:SharedArchiveFile=" + archive;
+            default:
+                return "-Xshare:auto";
+        }
+    }
+
+    private static Map<String, Long> run(Path jar, Kind kind, String jvmOption) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, jvmOption, "-cp", jar.toString(), PACKAGE + "." + kind.className())
+                .redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        String output;
+        try (InputStream input = process.getInputStream()) {
+            output = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int exitCode = process.waitFor();
+        long processNanos = System.nanoTime() - start;
+        if (exitCode != 0) {
+            throw new IllegalStateException(kind + " " + jvmOption + " failed with exit code " + exitCode + ":\n" + output);
+        }
+        Map<String, Long> measures = new HashMap<>();
+        for (String line : output.split("\\R")) {
+            int separator = line.indexOf('=');
+            if (separator > 0 && Arrays.asList(MEASURES).contains(line.substring(0, separator))) {
+                measures.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+            }
+        }
+        measures.put("processNanos", processNanos);
+        return measures;
+    }
+
+    static Map<String, Long> median(List<Map<String, Long>> runs) {
+        Map<String, Long> median = new HashMap<>();
+        for (String measure : MEASURES) {
+            long[] values = runs.stream().mapToLong(run -> run.get(measure)).sorted().toArray();
+            median.put(measure, values[values.length / 2]);
+        }
+        return median;
+    }
+
+    static String report(int count, int runs, Map<String, Map<String, Long>> results) {
+        StringBuilder report = new StringBuilder(String.format("%d operators per kind, median of %d runs%n", count, runs))
+                .append(String.format("%-30s %16s %14s %16s %14s%n",
+                        "kind / mode", "first call (ms)", "classes", "metaspace (KiB)", "process (ms)"));
+        results.forEach((name, measures) -> report.append(String.format("%-30s %16.2f %14d %16d %14.1f%n",
+                name,
+                measures.get("firstCallNanos") / 1e6,
+                measures.get("loadedClasses"),
+                measures.get("metaspaceBytes") / 1024,
+                measures.get("processNanos") / 1e6)));
+        return report.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package es.htic.kata.java_functional_programming;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing 1..n with a recursion depth of one million, which overflows the call stack as plain recursion:
+ * a tail-recursive trampoline (accumulator in the argument), a non-tail trampoline (addition after the recursive call,
+ * through map) and a manual loop
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrampolineBenchmark {
+
+    @Param({"1000000"})
+    private int depth;
+
+    @Benchmark
+    public long trampolineTailCall() {
+        return sumTail(depth, 0).run();
+    }
+
+    @Benchmark
+    public long trampolineNonTailCall() {
+        return sum(depth).run();
+    }
+
+    @Benchmark
+    public long manualLoop() {
+        long sum = 0;
+        for (int n = depth; n > 0; n--) {
+            sum += n;
+        }
+        return sum;
+    }
+
+    private static Trampoline<Long> sumTail(int n, long accumulator) {
+        return n == 0 ? Trampoline.done(accumulator) : Trampoline.more(() -> sumTail(n - 1, accumulator + n));
+    }
+
+    private static Trampoline<Long> sum(int n) {
+        return n == 0 ? Trampoline.done(0L) : Trampoline.more(() -> sum(n - 1)).map(s -> s + n);
+    }
+}
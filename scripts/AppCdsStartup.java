@@ -0,0 +1,58 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Cold start time of every example entry point without CDS, with the default CDS archive of the JDK and with its
+ * AppCDS archive. Run by appcds-startup.sh with the source launcher: timing the JVMs from Java keeps the script
+ * portable, as {@code date} has no sub-second format in POSIX.
+ * Arguments: jar, directory of the AppCDS archives, number of runs. Prints the median wall time of the runs in milliseconds.
+ */
+public class AppCdsStartup {
+    private static final String PACKAGE = "es.htic.kata.java_functional_programming.";
+    private static final String[] ENTRY_POINTS = {
+            "LambdaExpressionExamples", "FunctionalInterfacesExamples", "FunctionsAsFirstClassCitizens"};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path jar = Paths.get(args[0]);
+        Path archives = Paths.get(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Runs must be positive: " + runs);
+        }
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        System.out.printf("%-32s %10s %14s %10s%n", "entry point", "no CDS", "default CDS", "AppCDS");
+        for (String main : ENTRY_POINTS) {
+            Path archive = archives.resolve(main + ".jsa");
+            if (!Files.isRegularFile(archive)) {
+                System.err.println("No AppCDS archive at " + archive + ": run mvn package -Pappcds first");
+                System.exit(1);
+            }
+            System.out.printf("%-32s %10d %14d %10d%n", main,
+                    median(java, "-Xshare:off", jar, main, runs),
+                    median(java, "-Xshare:auto", jar, main, runs),
+                    median(java, "-XX:SharedArchiveFile=" + archive, jar, main, runs));
+        }
+    }
+
+    private static long median(String java, String option, Path jar, String main, int runs)
+            throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(java, option, "-cp", jar.toString(), PACKAGE + main)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException(main + " failed with " + option);
+            }
+            millis[run] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis[(runs - 1) / 2];
+    }
+}
@@ -0,0 +1,13 @@
+#!/bin/sh
+# Compares the cold start time of every example entry point without CDS, with the default CDS archive of the JDK
+# and with its AppCDS archive, built by: mvn package -Pappcds
+# Usage: scripts/appcds-startup.sh [runs]   (default 10; prints the median wall time of the runs, in milliseconds)
+# The runs are timed by AppCdsStartup.java, launched from source (JDK 11+), with the JDK that built the archives.
+set -e
+
+RUNS=${1:-10}
+SCRIPTS=$(cd "$(dirname "$0")" && pwd)
+TARGET=$(cd "$SCRIPTS/../target" && pwd)
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+exec "$JAVA" "$SCRIPTS/AppCdsStartup.java" "$TARGET/java-functional-programming-1.0.jar" "$TARGET/appcds" "$RUNS"
@@ -0,0 +1,23 @@
+#!/bin/sh
+# Runs an example entry point with its AppCDS archive, built by: mvn package -Pappcds
+# Usage: scripts/run-with-appcds.sh LambdaExpressionExamples|FunctionalInterfacesExamples|FunctionsAsFirstClassCitizens [args...]
+# Without an archive, or with an archive that does not match the jar or the JVM, the JVM starts without it.
+set -e
+
+if [ $# -lt 1 ]; then
+    echo "Usage: $0 <entry point> [args...]" >&2
+    exit 2
+fi
+MAIN=$1
+shift
+
+TARGET=$(cd "$(dirname "$0")/../target" && pwd)
+JAR="$TARGET/java-functional-programming-1.0.jar"
+ARCHIVE="$TARGET/appcds/$MAIN.jsa"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if [ -f "$ARCHIVE" ]; then
+    exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto $JAVA_OPTS -cp "$JAR" "es.htic.kata.java_functional_programming.$MAIN" "$@"
+fi
+echo "No AppCDS archive at $ARCHIVE, starting without it" >&2
+exec "$JAVA" $JAVA_OPTS -cp "$JAR" "es.htic.kata.java_functional_programming.$MAIN" "$@"
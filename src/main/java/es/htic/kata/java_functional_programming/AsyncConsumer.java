@@ -0,0 +1,361 @@
+package es.htic.kata.java_functional_programming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Consumer running its side effect on a dedicated thread, so that the callers do not wait for it.
+ * - Elements are published into a ring buffer of preallocated slots, as in the LMAX Disruptor, without locks:
+ *   a single producer just advances its own sequence, multiple producers claim slots with a compare-and-set
+ * - The consumer thread drains every published element in batches, then waits with the {@link WaitStrategy}:
+ *   busy-spinning (lowest latency, burns a core), yielding, or parking
+ * - When the buffer is full the {@link BackPressure} policy applies: block the producer, drop the element,
+ *   or sample (from half full on, publish only one element in {@code sampleRate}, and drop when full)
+ * - Publish latency (time spent in {@link #accept}) and end-to-end latency (from {@link #accept} until the side effect
+ *   is done) are recorded in {@link LatencyHistogram}s, for one element in {@code latencySampleRate}
+ * - Exceptions and errors thrown by the side effect are counted and do not stop the consumer thread,
+ *   which would otherwise leave blocked producers waiting forever
+ * - {@link #close()} consumes what is left and stops the thread. Elements must not be accepted while closing.
+ *
+ * @param <T> the type of the elements
+ */
+public final class AsyncConsumer<T> implements Consumer<T>, AutoCloseable {
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final VarHandle CURSOR;
+    private static final VarHandle PUBLISHED;
+    private static final VarHandle CONSUMED;
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            CURSOR = lookup.findVarHandle(AsyncConsumer.class, "cursor", long.class);
+            PUBLISHED = lookup.findVarHandle(AsyncConsumer.class, "published", long.class);
+            CONSUMED = lookup.findVarHandle(AsyncConsumer.class, "consumed", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public enum ProducerType {
+        SINGLE, MULTI
+    }
+
+    /**
+     * How the consumer waits for elements, and blocked producers for free slots.
+     * Busy-spinning and yielding need a core for each waiting thread: with more threads than cores,
+     * a spinning producer can be starved by the others for a long time.
+     */
+    public enum WaitStrategy {
+        BUSY_SPIN {
+            @Override
+            void idle() {
+                Thread.onSpinWait();
+            }
+        },
+        YIELD {
+            @Override
+            void idle() {
+                Thread.yield();
+            }
+        },
+        /**
+         * Parks for 50 microseconds at a time: no CPU used while idle, at the cost of latency
+         */
+        PARK {
+            @Override
+            void idle() {
+                LockSupport.parkNanos(50_000);
+            }
+        };
+
+        abstract void idle();
+    }
+
+    public enum BackPressure {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private final Consumer<? super T> consumer;
+    private final Object[] elements;
+    private final long[] publishedAt;
+    private final int[] available; // Multiple producers: round of the last element published in each slot
+    private final int mask;
+    private final int roundShift;
+    private final WaitStrategy waitStrategy;
+    private final BackPressure backPressure;
+    private final int sampleMask;
+    private final int latencySampleMask;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram publishLatency = new LatencyHistogram();
+    private final LatencyHistogram endToEndLatency = new LatencyHistogram();
+    private final Thread thread;
+
+    private long cursor = -1; // Last claimed sequence
+    private long published = -1; // Single producer: last published sequence
+    private long consumed = -1; // Last consumed sequence, written by the consumer thread only
+    private long consumedCache = -1; // Single producer: last value of consumed it read
+    private volatile boolean closed;
+
+    private AsyncConsumer(Builder builder, Consumer<? super T> consumer) {
+        this.consumer = Objects.requireNonNull(consumer);
+        this.elements = new Object[builder.bufferSize];
+        this.publishedAt = new long[builder.bufferSize];
+        if (builder.producerType == ProducerType.MULTI) {
+            this.available = new int[builder.bufferSize];
+            Arrays.fill(available, -1);
+        } else {
+            this.available = null;
+        }
+        this.mask = builder.bufferSize - 1;
+        this.roundShift = Integer.numberOfTrailingZeros(builder.bufferSize);
+        this.waitStrategy = builder.waitStrategy;
+        this.backPressure = builder.backPressure;
+        this.sampleMask = builder.sampleRate - 1;
+        this.latencySampleMask = builder.latencySampleRate - 1;
+        this.thread = new Thread(this::drain, "async-consumer-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Publishes the element for the consumer thread. Depending on the back-pressure policy, waits for a free slot
+     * or drops the element when the buffer is full.
+     */
+    @Override
+    public void accept(T element) {
+        if (closed) {
+            throw new IllegalStateException("Consumer is closed");
+        }
+        long start = latencySampleMask == 0 || (ThreadLocalRandom.current().nextInt() & latencySampleMask) == 0
+                ? System.nanoTime()
+                : NOT_TIMED;
+        long sequence = available == null ? claimSingle() : claimMulti();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        int index = (int) sequence & mask;
+        elements[index] = element;
+        publishedAt[index] = start;
+        if (available == null) {
+            PUBLISHED.setRelease(this, sequence);
+        } else {
+            AVAILABLE.setRelease(available, index, (int) (sequence >>> roundShift));
+        }
+        if (start != NOT_TIMED) {
+            publishLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Consumes the elements already published, then stops the consumer thread
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats((long) CURSOR.getVolatile(this) + 1, (long) CONSUMED.getVolatile(this) + 1, dropped.sum(),
+                failures.sum(), publishLatency.snapshot(), endToEndLatency.snapshot());
+    }
+
+    /**
+     * Next sequence for the only producer, or -1 if the element is dropped
+     */
+    private long claimSingle() {
+        long next = cursor + 1;
+        if (next - consumedCache > elements.length / 2) { // Refresh only when the buffer may be filling up
+            consumedCache = (long) CONSUMED.getAcquire(this);
+        }
+        while (next - elements.length > consumedCache) {
+            if (backPressure != BackPressure.BLOCK) {
+                return -1;
+            }
+            waitForSpace();
+            consumedCache = (long) CONSUMED.getAcquire(this);
+        }
+        if (isSampledOut(next, consumedCache)) {
+            return -1;
+        }
+        cursor = next;
+        return next;
+    }
+
+    /**
+     * Next sequence claimed among several producers, or -1 if the element is dropped
+     */
+    private long claimMulti() {
+        while (true) {
+            long current = (long) CURSOR.getVolatile(this);
+            long next = current + 1;
+            long consumedNow = (long) CONSUMED.getAcquire(this);
+            if (next - elements.length > consumedNow) {
+                if (backPressure != BackPressure.BLOCK) {
+                    return -1;
+                }
+                waitForSpace();
+            } else if (isSampledOut(next, consumedNow)) {
+                return -1;
+            } else if (CURSOR.compareAndSet(this, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private boolean isSampledOut(long next, long consumedSequence) {
+        return backPressure == BackPressure.SAMPLE
+                && next - consumedSequence > elements.length / 2
+                && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0;
+    }
+
+    private void waitForSpace() {
+        if (closed) {
+            throw new IllegalStateException("Consumer closed while waiting for space");
+        }
+        waitStrategy.idle();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        long next = 0;
+        while (true) {
+            long last = highestPublished(next);
+            if (last < next) {
+                if (closed && (long) CURSOR.getVolatile(this) < next) {
+                    return;
+                }
+                waitStrategy.idle();
+                continue;
+            }
+            for (long sequence = next; sequence <= last; sequence++) {
+                int index = (int) sequence & mask;
+                T element = (T) elements[index];
+                long start = publishedAt[index];
+                elements[index] = null;
+                try {
+                    consumer.accept(element);
+                } catch (Throwable e) { // Errors too, such as an AssertionError or a StackOverflowError
+                    failures.increment();
+                }
+                if (start != NOT_TIMED) {
+                    endToEndLatency.record(System.nanoTime() - start);
+                }
+            }
+            CONSUMED.setRelease(this, last);
+            next = last + 1;
+        }
+    }
+
+    private long highestPublished(long next) {
+        if (available == null) {
+            return (long) PUBLISHED.getAcquire(this);
+        }
+        long claimed = (long) CURSOR.getAcquire(this);
+        for (long sequence = next; sequence <= claimed; sequence++) {
+            if ((int) AVAILABLE.getAcquire(available, (int) sequence & mask) != (int) (sequence >>> roundShift)) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Counters at the time of the call. Published counts the elements claimed by producers, consumed the ones
+     * that went through the side effect, failed or not.
+     */
+    public record Stats(long published, long consumed, long dropped, long failures,
+                        LatencyHistogram.Snapshot publishLatency, LatencyHistogram.Snapshot endToEndLatency) {
+    }
+
+    public static final class Builder {
+        private int bufferSize = 1024;
+        private ProducerType producerType = ProducerType.MULTI;
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+        private BackPressure backPressure = BackPressure.BLOCK;
+        private int sampleRate = 8;
+        private int latencySampleRate = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of slots, a power of two
+         */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = requirePowerOfTwo(bufferSize, "Buffer size");
+            return this;
+        }
+
+        /**
+         * {@link ProducerType#SINGLE} is faster, but then {@link #accept} must always be called from the same thread
+         */
+        public Builder producerType(ProducerType producerType) {
+            this.producerType = Objects.requireNonNull(producerType);
+            return this;
+        }
+
+        public Builder waitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = Objects.requireNonNull(waitStrategy);
+            return this;
+        }
+
+        public Builder backPressure(BackPressure backPressure) {
+            this.backPressure = Objects.requireNonNull(backPressure);
+            return this;
+        }
+
+        /**
+         * One element in sampleRate is published when the buffer is more than half full, with {@link BackPressure#SAMPLE}
+         */
+        public Builder sampleRate(int sampleRate) {
+            this.sampleRate = requirePowerOfTwo(sampleRate, "Sample rate");
+            return this;
+        }
+
+        /**
+         * Latencies are recorded for one element in latencySampleRate, chosen at random, to save the cost of the clock
+         */
+        public Builder latencySampleRate(int latencySampleRate) {
+            this.latencySampleRate = requirePowerOfTwo(latencySampleRate, "Latency sample rate");
+            return this;
+        }
+
+        public <T> AsyncConsumer<T> build(Consumer<? super T> consumer) {
+            return new AsyncConsumer<>(this, consumer);
+        }
+
+        private static int requirePowerOfTwo(int value, String name) {
+            if (value <= 0 || Integer.bitCount(value) != 1) {
+                throw new IllegalArgumentException(name + " must be a power of two: " + value);
+            }
+            return value;
+        }
+    }
+}
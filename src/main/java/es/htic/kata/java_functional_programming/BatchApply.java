@@ -0,0 +1,166 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.FunctionChain.Affine;
+import es.htic.kata.java_functional_programming.FunctionChain.Clamp;
+import es.htic.kata.java_functional_programming.FunctionChain.Square;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Applies a function to whole primitive arrays, instead of calling it element by element.
+ * - Arrays are processed in blocks small enough to stay in the CPU cache
+ * - A {@link FunctionChain} is fused, then applied stage by stage on each block: known stages (add, multiply, square, clamp)
+ *   run as plain array loops the JIT can vectorize, opaque stages as a loop calling the stage
+ * - Any other function is applied element by element
+ * - The parallel variants split the array across a {@link ForkJoinPool}
+ * - Source and destination may be the same array, to apply the function in place
+ */
+public final class BatchApply {
+    static final int BLOCK_SIZE = 4 * 1024; // 16 KiB of ints, 32 KiB of longs or doubles
+    private static final int PARALLEL_THRESHOLD = 16 * BLOCK_SIZE;
+
+    private BatchApply() {
+    }
+
+    public static void applyInPlace(int[] values, IntUnaryOperator function) {
+        apply(values, values, function);
+    }
+
+    public static void apply(int[] source, int[] destination, IntUnaryOperator function) {
+        checkLengths(source.length, destination.length);
+        apply(source, destination, fusedIfChain(function), 0, source.length);
+    }
+
+    public static void applyInPlace(long[] values, LongUnaryOperator function) {
+        apply(values, values, function);
+    }
+
+    public static void apply(long[] source, long[] destination, LongUnaryOperator function) {
+        checkLengths(source.length, destination.length);
+        apply(source, destination, function, 0, source.length);
+    }
+
+    public static void applyInPlace(double[] values, DoubleUnaryOperator function) {
+        apply(values, values, function);
+    }
+
+    public static void apply(double[] source, double[] destination, DoubleUnaryOperator function) {
+        checkLengths(source.length, destination.length);
+        apply(source, destination, function, 0, source.length);
+    }
+
+    public static void parallelApply(int[] source, int[] destination, IntUnaryOperator function, ForkJoinPool pool) {
+        checkLengths(source.length, destination.length);
+        IntUnaryOperator fused = fusedIfChain(function);
+        pool.invoke(new Split(0, source.length, (from, to) -> apply(source, destination, fused, from, to)));
+    }
+
+    public static void parallelApply(long[] source, long[] destination, LongUnaryOperator function, ForkJoinPool pool) {
+        checkLengths(source.length, destination.length);
+        pool.invoke(new Split(0, source.length, (from, to) -> apply(source, destination, function, from, to)));
+    }
+
+    public static void parallelApply(double[] source, double[] destination, DoubleUnaryOperator function, ForkJoinPool pool) {
+        checkLengths(source.length, destination.length);
+        pool.invoke(new Split(0, source.length, (from, to) -> apply(source, destination, function, from, to)));
+    }
+
+    private static void apply(int[] source, int[] destination, IntUnaryOperator function, int from, int to) {
+        if (!(function instanceof FunctionChain)) {
+            for (int i = from; i < to; i++) {
+                destination[i] = function.applyAsInt(source[i]);
+            }
+            return;
+        }
+        FunctionChain chain = (FunctionChain) function;
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(start + BLOCK_SIZE, to);
+            if (source != destination) {
+                System.arraycopy(source, start, destination, start, end - start);
+            }
+            for (int stage = 0; stage < chain.length(); stage++) {
+                applyStage(chain.stage(stage), destination, start, end);
+            }
+        }
+    }
+
+    private static void applyStage(IntUnaryOperator stage, int[] values, int from, int to) {
+        if (stage instanceof Affine) {
+            int multiplier = ((Affine) stage).multiplier();
+            int addend = ((Affine) stage).addend();
+            for (int i = from; i < to; i++) {
+                values[i] = values[i] * multiplier + addend;
+            }
+        } else if (stage instanceof Square) {
+            for (int i = from; i < to; i++) {
+                values[i] = values[i] * values[i];
+            }
+        } else if (stage instanceof Clamp) {
+            int lower = ((Clamp) stage).lower();
+            int upper = ((Clamp) stage).upper();
+            for (int i = from; i < to; i++) {
+                values[i] = Math.min(Math.max(values[i], lower), upper);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                values[i] = stage.applyAsInt(values[i]);
+            }
+        }
+    }
+
+    private static void apply(long[] source, long[] destination, LongUnaryOperator function, int from, int to) {
+        for (int i = from; i < to; i++) {
+            destination[i] = function.applyAsLong(source[i]);
+        }
+    }
+
+    private static void apply(double[] source, double[] destination, DoubleUnaryOperator function, int from, int to) {
+        for (int i = from; i < to; i++) {
+            destination[i] = function.applyAsDouble(source[i]);
+        }
+    }
+
+    private static IntUnaryOperator fusedIfChain(IntUnaryOperator function) {
+        return function instanceof FunctionChain ? ((FunctionChain) function).fused() : function;
+    }
+
+    private static void checkLengths(int sourceLength, int destinationLength) {
+        if (sourceLength != destinationLength) {
+            throw new IllegalArgumentException("Source length " + sourceLength + " != destination length " + destinationLength);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    /**
+     * Splits a range in halves, aligned to blocks, until it is small enough to be applied sequentially
+     */
+    private static final class Split extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        private Split(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                action.apply(from, to);
+                return;
+            }
+            int middle = from + ((to - from) / 2 / BLOCK_SIZE) * BLOCK_SIZE;
+            invokeAll(new Split(from, middle, action), new Split(middle, to, action));
+        }
+    }
+}
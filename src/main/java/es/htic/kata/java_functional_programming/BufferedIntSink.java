@@ -0,0 +1,163 @@
+package es.htic.kata.java_functional_programming;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Writes integers one per line, as a drop-in replacement of {@code System.out::println} consumers.
+ * - Digits are formatted straight into a reusable byte buffer: no String is created per element
+ * - The buffer is written to a {@link WritableByteChannel} only when full, on {@link #flush()} and on {@link #close()},
+ *   instead of taking the PrintStream lock and flushing on every line
+ * - Not thread-safe: use one sink per thread, or per sequential stream
+ * - Write errors are thrown as {@link UncheckedIOException} from the consumer methods
+ */
+public final class BufferedIntSink implements Consumer<Integer>, IntConsumer, Flushable, Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_INT_LENGTH = 11; // "-2147483648"
+    private static final byte[] MIN_VALUE = String.valueOf(Integer.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+    private boolean closed;
+
+    private BufferedIntSink(WritableByteChannel channel, int bufferSize, boolean closeChannel) {
+        if (bufferSize < MAX_INT_LENGTH + LINE_SEPARATOR.length) {
+            throw new IllegalArgumentException("Buffer size too small: " + bufferSize);
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Sink writing to the channel, which is closed with the sink
+     */
+    public static BufferedIntSink to(WritableByteChannel channel) {
+        return to(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static BufferedIntSink to(WritableByteChannel channel, int bufferSize) {
+        if (!channel.isOpen()) {
+            throw new IllegalArgumentException("Channel is closed");
+        }
+        return new BufferedIntSink(channel, bufferSize, true);
+    }
+
+    /**
+     * Sink writing to the standard output. Closing it flushes, but leaves the standard output open.
+     * Anything printed through {@code System.out} meanwhile may come out before the buffered integers.
+     */
+    public static BufferedIntSink toStandardOutput() {
+        return new BufferedIntSink(new FileOutputStream(FileDescriptor.out).getChannel(), DEFAULT_BUFFER_SIZE, false);
+    }
+
+    @Override
+    public void accept(Integer value) {
+        accept(value.intValue());
+    }
+
+    @Override
+    public void accept(int value) {
+        ensureOpen();
+        if (bytes.length - position < MAX_INT_LENGTH + LINE_SEPARATOR.length) {
+            writeBuffer();
+        }
+        position = format(value, bytes, position);
+        for (byte separator : LINE_SEPARATOR) {
+            bytes[position++] = separator;
+        }
+    }
+
+    /**
+     * Writes the buffered integers to the channel
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        write();
+    }
+
+    /**
+     * Flushes, then closes the channel unless it is the standard output. Closing again has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            write();
+        } finally {
+            closed = true;
+            if (closeChannel) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Formats the decimal digits of the value at the position and returns the position after them
+     */
+    static int format(int value, byte[] bytes, int position) {
+        if (value == Integer.MIN_VALUE) { // Cannot be negated
+            System.arraycopy(MIN_VALUE, 0, bytes, position, MIN_VALUE.length);
+            return position + MIN_VALUE.length;
+        }
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int end = position + digits(value);
+        int index = end;
+        do {
+            int quotient = value / 10;
+            bytes[--index] = (byte) ('0' + value - quotient * 10);
+            value = quotient;
+        } while (value != 0);
+        return end;
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        for (long limit = 10; limit <= value; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeBuffer() {
+        try {
+            write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+    }
+}
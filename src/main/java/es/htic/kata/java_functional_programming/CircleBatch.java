@@ -0,0 +1,196 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Circle;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+
+/**
+ * Immutable columnar (structure of arrays) storage for many {@link Circle} records.
+ * - All radii live in a single {@code double[]}, with no per-circle object header
+ * - The non-negative radius invariant of {@link Circle} is checked once for the whole batch
+ * - Kernels are plain counted loops over the array, which the JIT can auto-vectorize
+ * - {@link #get(int)} and {@link #asList()} offer per-record views when a {@link Circle} is needed
+ */
+public final class CircleBatch {
+    private final double[] radii;
+
+    private CircleBatch(double[] radii) {
+        this.radii = radii;
+    }
+
+    public static CircleBatch of(double... radii) {
+        double[] copy = radii.clone(); // Defensive copy
+        boolean negative = false;
+        for (double radius : copy) {
+            negative |= radius < 0;
+        }
+        if (negative) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        return new CircleBatch(copy);
+    }
+
+    /**
+     * Bulk ingestion: validates all radii in a single pass without throwing, keeping the valid ones
+     * (in their original order) and recording the index of every rejected radius.
+     */
+    public static Validated validate(double[] radii) {
+        double[] accepted = new double[radii.length];
+        long[] rejected = new long[(radii.length + 63) >>> 6];
+        int count = 0;
+        for (int i = 0; i < radii.length; i++) {
+            double radius = radii[i];
+            long invalid = radius < 0 ? 1L : 0L;
+            accepted[count] = radius; // Overwritten by the next radius when invalid
+            count += (int) (invalid ^ 1L);
+            rejected[i >>> 6] |= invalid << i;
+        }
+        double[] circles = count == accepted.length ? accepted : Arrays.copyOf(accepted, count);
+        return new Validated(new CircleBatch(circles), BitSet.valueOf(rejected));
+    }
+
+    public static Validated validate(DoubleStream radii) {
+        return validate(radii.toArray());
+    }
+
+    public static CircleBatch copyOf(Collection<Circle> circles) {
+        double[] radii = new double[circles.size()];
+        int i = 0;
+        for (Circle circle : circles) {
+            radii[i++] = circle.radius(); // Already validated by each record
+        }
+        return new CircleBatch(radii);
+    }
+
+    public int size() {
+        return radii.length;
+    }
+
+    public double radius(int index) {
+        return radii[index];
+    }
+
+    /**
+     * Per-record view of one circle
+     */
+    public Circle get(int index) {
+        return new Circle(radii[index]);
+    }
+
+    /**
+     * Immutable list view creating each {@link Circle} on access
+     */
+    public List<Circle> asList() {
+        return new CircleList();
+    }
+
+    public double[] radii() {
+        return radii.clone(); // Return a copy of the data
+    }
+
+    public double[] areas() {
+        double[] areas = new double[radii.length];
+        for (int i = 0; i < radii.length; i++) {
+            areas[i] = Math.PI * radii[i] * radii[i];
+        }
+        return areas;
+    }
+
+    public double[] perimeters() {
+        double[] perimeters = new double[radii.length];
+        for (int i = 0; i < radii.length; i++) {
+            perimeters[i] = 2 * Math.PI * radii[i];
+        }
+        return perimeters;
+    }
+
+    public double sumRadii() {
+        // Four independent accumulators break the dependency chain of a floating point sum
+        double sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+        int i = 0;
+        for (; i + 3 < radii.length; i += 4) {
+            sum0 += radii[i];
+            sum1 += radii[i + 1];
+            sum2 += radii[i + 2];
+            sum3 += radii[i + 3];
+        }
+        for (; i < radii.length; i++) {
+            sum0 += radii[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    public double totalArea() {
+        double sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+        int i = 0;
+        for (; i + 3 < radii.length; i += 4) {
+            sum0 += radii[i] * radii[i];
+            sum1 += radii[i + 1] * radii[i + 1];
+            sum2 += radii[i + 2] * radii[i + 2];
+            sum3 += radii[i + 3] * radii[i + 3];
+        }
+        for (; i < radii.length; i++) {
+            sum0 += radii[i] * radii[i];
+        }
+        return Math.PI * ((sum0 + sum1) + (sum2 + sum3));
+    }
+
+    public double totalPerimeter() {
+        return 2 * Math.PI * sumRadii();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(radii, ((CircleBatch) o).radii);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(radii);
+    }
+
+    @Override
+    public String toString() {
+        return "CircleBatch{" +
+                "size=" + radii.length +
+                '}';
+    }
+
+    /**
+     * Result of a bulk validation: the valid circles and the indices of the rejected radii
+     */
+    public record Validated(CircleBatch circles, BitSet rejectedIndices) {
+        public Validated {
+            rejectedIndices = (BitSet) rejectedIndices.clone(); // Defensive copy
+        }
+
+        @Override
+        public BitSet rejectedIndices() {
+            return (BitSet) rejectedIndices.clone(); // Return a copy of the data
+        }
+
+        public int rejectedCount() {
+            return rejectedIndices.cardinality();
+        }
+    }
+
+    private final class CircleList extends AbstractList<Circle> implements RandomAccess {
+        @Override
+        public Circle get(int index) {
+            return CircleBatch.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return radii.length;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Currying and partial application for functions of 2 to 6 arguments.
+ * - {@code curry} turns {@code f(a, b, c)} into {@code a -> b -> c -> f(a, b, c)}: every applied argument allocates a closure
+ * - {@code partial} fixes the first argument and returns a function of the remaining ones
+ * - {@code memoizedCurry} caches the partial application of each level in a {@link Memoized}, so applying arguments
+ *   already seen returns the same closure instead of allocating a new one.
+ *   Each level keeps up to {@code maximumSize} partial applications per leading argument, behind a single lock
+ *   since inner levels are created per leading argument and should stay small
+ * - {@link #curryInt}, {@link #curryLong} and {@link #curryDouble} curry primitive operators without boxing;
+ *   the int and long versions reuse the closure for small leading arguments, from -128 to 127 as {@link Integer#valueOf(int)}
+ */
+public final class Curry {
+    static final int SMALL_LOW = -128;
+    static final int SMALL_HIGH = 127;
+
+    private Curry() {
+    }
+
+    @FunctionalInterface
+    public interface Function3<A, B, C, R> {
+        R apply(A a, B b, C c);
+    }
+
+    @FunctionalInterface
+    public interface Function4<A, B, C, D, R> {
+        R apply(A a, B b, C c, D d);
+    }
+
+    @FunctionalInterface
+    public interface Function5<A, B, C, D, E, R> {
+        R apply(A a, B b, C c, D d, E e);
+    }
+
+    @FunctionalInterface
+    public interface Function6<A, B, C, D, E, F, R> {
+        R apply(A a, B b, C c, D d, E e, F f);
+    }
+
+    public static <A, B, R> Function<A, Function<B, R>> curry(BiFunction<A, B, R> function) {
+        Objects.requireNonNull(function);
+        return a -> partial(function, a);
+    }
+
+    public static <A, B, C, R> Function<A, Function<B, Function<C, R>>> curry(Function3<A, B, C, R> function) {
+        Objects.requireNonNull(function);
+        return a -> curry(partial(function, a));
+    }
+
+    public static <A, B, C, D, R> Function<A, Function<B, Function<C, Function<D, R>>>> curry(
+            Function4<A, B, C, D, R> function) {
+        Objects.requireNonNull(function);
+        return a -> curry(partial(function, a));
+    }
+
+    public static <A, B, C, D, E, R> Function<A, Function<B, Function<C, Function<D, Function<E, R>>>>> curry(
+            Function5<A, B, C, D, E, R> function) {
+        Objects.requireNonNull(function);
+        return a -> curry(partial(function, a));
+    }
+
+    public static <A, B, C, D, E, F, R> Function<A, Function<B, Function<C, Function<D, Function<E, Function<F, R>>>>>> curry(
+            Function6<A, B, C, D, E, F, R> function) {
+        Objects.requireNonNull(function);
+        return a -> curry(partial(function, a));
+    }
+
+    public static <A, B, R> Function<B, R> partial(BiFunction<A, B, R> function, A a) {
+        return b -> function.apply(a, b);
+    }
+
+    public static <A, B, C, R> BiFunction<B, C, R> partial(Function3<A, B, C, R> function, A a) {
+        return (b, c) -> function.apply(a, b, c);
+    }
+
+    public static <A, B, C, D, R> Function3<B, C, D, R> partial(Function4<A, B, C, D, R> function, A a) {
+        return (b, c, d) -> function.apply(a, b, c, d);
+    }
+
+    public static <A, B, C, D, E, R> Function4<B, C, D, E, R> partial(Function5<A, B, C, D, E, R> function, A a) {
+        return (b, c, d, e) -> function.apply(a, b, c, d, e);
+    }
+
+    public static <A, B, C, D, E, F, R> Function5<B, C, D, E, F, R> partial(Function6<A, B, C, D, E, F, R> function, A a) {
+        return (b, c, d, e, f) -> function.apply(a, b, c, d, e, f);
+    }
+
+    public static <A, B, R> Function<A, Function<B, R>> memoizedCurry(BiFunction<A, B, R> function, long maximumSize) {
+        Objects.requireNonNull(function);
+        return memoize(a -> partial(function, a), maximumSize);
+    }
+
+    public static <A, B, C, R> Function<A, Function<B, Function<C, R>>> memoizedCurry(
+            Function3<A, B, C, R> function, long maximumSize) {
+        Objects.requireNonNull(function);
+        return memoize(a -> memoizedCurry(partial(function, a), maximumSize), maximumSize);
+    }
+
+    public static <A, B, C, D, R> Function<A, Function<B, Function<C, Function<D, R>>>> memoizedCurry(
+            Function4<A, B, C, D, R> function, long maximumSize) {
+        Objects.requireNonNull(function);
+        return memoize(a -> memoizedCurry(partial(function, a), maximumSize), maximumSize);
+    }
+
+    public static <A, B, C, D, E, R> Function<A, Function<B, Function<C, Function<D, Function<E, R>>>>> memoizedCurry(
+            Function5<A, B, C, D, E, R> function, long maximumSize) {
+        Objects.requireNonNull(function);
+        return memoize(a -> memoizedCurry(partial(function, a), maximumSize), maximumSize);
+    }
+
+    public static <A, B, C, D, E, F, R> Function<A, Function<B, Function<C, Function<D, Function<E, Function<F, R>>>>>> memoizedCurry(
+            Function6<A, B, C, D, E, F, R> function, long maximumSize) {
+        Objects.requireNonNull(function);
+        return memoize(a -> memoizedCurry(partial(function, a), maximumSize), maximumSize);
+    }
+
+    public static IntFunction<IntUnaryOperator> curryInt(IntBinaryOperator function) {
+        Objects.requireNonNull(function);
+        IntUnaryOperator[] small = new IntUnaryOperator[SMALL_HIGH - SMALL_LOW + 1];
+        return a -> {
+            if (a < SMALL_LOW || a > SMALL_HIGH) {
+                return partialInt(function, a);
+            }
+            IntUnaryOperator cached = small[a - SMALL_LOW];
+            if (cached == null) {
+                // Racy but safe: closures only have final fields, and two threads at worst create equivalent closures
+                cached = partialInt(function, a);
+                small[a - SMALL_LOW] = cached;
+            }
+            return cached;
+        };
+    }
+
+    public static LongFunction<LongUnaryOperator> curryLong(LongBinaryOperator function) {
+        Objects.requireNonNull(function);
+        LongUnaryOperator[] small = new LongUnaryOperator[SMALL_HIGH - SMALL_LOW + 1];
+        return a -> {
+            if (a < SMALL_LOW || a > SMALL_HIGH) {
+                return partialLong(function, a);
+            }
+            LongUnaryOperator cached = small[(int) a - SMALL_LOW];
+            if (cached == null) {
+                cached = partialLong(function, a);
+                small[(int) a - SMALL_LOW] = cached;
+            }
+            return cached;
+        };
+    }
+
+    public static DoubleFunction<DoubleUnaryOperator> curryDouble(DoubleBinaryOperator function) {
+        Objects.requireNonNull(function);
+        return a -> partialDouble(function, a);
+    }
+
+    public static IntUnaryOperator partialInt(IntBinaryOperator function, int a) {
+        return b -> function.applyAsInt(a, b);
+    }
+
+    public static LongUnaryOperator partialLong(LongBinaryOperator function, long a) {
+        return b -> function.applyAsLong(a, b);
+    }
+
+    public static DoubleUnaryOperator partialDouble(DoubleBinaryOperator function, double a) {
+        return b -> function.applyAsDouble(a, b);
+    }
+
+    private static <T, R> Function<T, R> memoize(Function<T, R> function, long maximumSize) {
+        return Memoized.builder()
+                .maximumSize(maximumSize)
+                .concurrencyLevel(1)
+                .build(function);
+    }
+}
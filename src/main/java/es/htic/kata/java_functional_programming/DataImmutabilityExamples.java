@@ -13,24 +13,135 @@ import java.util.Objects;
  * - Ensure Deep Immutability
  */
 public final class DataImmutabilityExamples {
+    private static final Interner<String> STRINGS = new Interner<>();
+
     private final List<String> items;
     private final List<String> immutableItems;
+    private final boolean sharedItems; // getItems() returns immutableItems itself instead of a copy
     private final Address address;
 
+    /**
+     * Items already known to be immutable ({@code List.of}/{@code List.copyOf} results, {@link PersistentVector},
+     * {@link OffHeapStringList}) are shared instead of copied, so construction is O(1) for them.
+     * Any other list, including unmodifiable views that may still change underneath, is copied.
+     * {@link #getItems()} returns a new mutable copy either way.
+     */
     public DataImmutabilityExamples(List<String> items, Address address) {
-        this.items = new ArrayList<>(items); // Deep copy the list
-        this.immutableItems = List.copyOf(items); // Java 10+ or use Collections.unmodifiableList
-        this.address = new Address(address.getStreet(), address.getCity()); // Defensive copy
+        List<String> immutableCopy = isTrustedImmutable(items)
+                ? items
+                : List.copyOf(items); // Java 10+, returns List.of/List.copyOf results as is
+        this.items = immutableCopy == items
+                ? items // Never mutated, getItems() copies it
+                : new ArrayList<>(items); // Deep copy the list
+        this.immutableItems = immutableCopy;
+        this.sharedItems = false;
+        this.address = Objects.requireNonNull(address); // Address is deeply immutable and canonical, no copy needed
+    }
+
+    private DataImmutabilityExamples(List<String> immutableItems, boolean sharedItems, Address address) {
+        this.items = immutableItems;
+        this.immutableItems = immutableItems;
+        this.sharedItems = sharedItems;
+        this.address = Objects.requireNonNull(address); // Address is deeply immutable and canonical, no copy needed
+    }
+
+    /**
+     * Single-copy construction: the items are copied once into a compact array-backed immutable list
+     * that backs both {@link #getItems()} and {@link #getImmutableItems()}.
+     * Unlike the public constructor, {@link #getItems()} then returns that immutable list instead of a mutable copy.
+     */
+    public static DataImmutabilityExamples compact(List<String> items, Address address) {
+        return new DataImmutabilityExamples(List.copyOf(items), true, address);
+    }
+
+    /**
+     * A persistent vector is already immutable, so it is held as is without copying.
+     * Unlike the public constructor, {@link #getItems()} then returns the vector itself instead of a mutable copy.
+     */
+    public static DataImmutabilityExamples persistent(PersistentVector<String> items, Address address) {
+        return new DataImmutabilityExamples(Objects.requireNonNull(items), true, address);
+    }
+
+    /**
+     * Off-heap string lists are immutable too, so the items stay outside the heap without being copied.
+     * Unlike the public constructor, {@link #getItems()} then returns the off-heap list itself instead of a mutable copy.
+     */
+    public static DataImmutabilityExamples offHeap(OffHeapStringList items, Address address) {
+        return new DataImmutabilityExamples(Objects.requireNonNull(items), true, address);
     }
 
     public List<String> getItems() {
+        if (sharedItems) {
+            return immutableItems; // Single immutable backing list, safe to return directly
+        }
         return new ArrayList<>(items); // Return a copy of the list
     }
     public List<String> getImmutableItems() {
         return immutableItems; // Immutable collection, safe to return directly
     }
     public Address getAddress() {
-        return new Address(address.getStreet(), address.getCity()); // Return a new copy
+        return address; // Deeply immutable, safe to return directly
+    }
+
+    /**
+     * Starts a batch of edits based on this instance. Only the first edit of each trie node copies it,
+     * and {@link Builder#build()} freezes the result into a new instance in O(1).
+     * Items that are not yet a {@link PersistentVector} are copied into one once.
+     */
+    public Builder toBuilder() {
+        return new Builder(PersistentVector.copyOf(immutableItems).asTransient(), address);
+    }
+
+    private static boolean isTrustedImmutable(List<String> items) {
+        return items instanceof PersistentVector || items instanceof OffHeapStringList;
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : STRINGS.intern(value);
+    }
+
+    /**
+     * Single-use builder editing an owned buffer in place (a {@link PersistentVector.Transient}).
+     * Once {@link #build()} has been called any further edit or build throws {@link IllegalStateException},
+     * so the built instance can never be mutated through it.
+     */
+    public static final class Builder {
+        private final PersistentVector.Transient<String> items;
+        private Address address;
+        private boolean built;
+
+        private Builder(PersistentVector.Transient<String> items, Address address) {
+            this.items = items;
+            this.address = address;
+        }
+
+        public Builder add(String item) {
+            items.append(item);
+            return this;
+        }
+
+        public Builder set(int index, String item) {
+            items.set(index, item);
+            return this;
+        }
+
+        public Builder address(Address address) {
+            ensureNotBuilt();
+            this.address = Objects.requireNonNull(address);
+            return this;
+        }
+
+        public DataImmutabilityExamples build() {
+            ensureNotBuilt();
+            built = true;
+            return new DataImmutabilityExamples(items.freeze(), address);
+        }
+
+        private void ensureNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Builder used after build");
+            }
+        }
     }
 
     /**
@@ -45,19 +156,38 @@ public final class DataImmutabilityExamples {
     }
 
     /**
-     * Equivalent Address class as record and as a native class
+     * Equivalent Address class as record and as a native class.
+     * Both offer an {@code of} factory returning canonical instances: equal addresses share one instance
+     * (and their street and city strings), so equality checks short-circuit on identity.
      */
-    public record AddressAsRecord(String street, String city) {}
+    public record AddressAsRecord(String street, String city) {
+        private static final Interner<AddressAsRecord> ADDRESSES = new Interner<>();
+
+        public static AddressAsRecord of(String street, String city) {
+            return ADDRESSES.intern(new AddressAsRecord(intern(street), intern(city)));
+        }
+    }
+
+    static final class Address {
+        private static final Interner<Address> ADDRESSES = new Interner<>();
 
-    final class Address {
         private final String street;
         private final String city;
+        private int hash; // Lazily cached, racy single-check like String.hashCode
+        private boolean hashIsZero;
 
-        private Address(String street, String city) {
+        /**
+         * Not canonical: use {@link #of(String, String)}. Left package-private for benchmarks that need distinct equal instances
+         */
+        Address(String street, String city) {
             this.street = street;
             this.city = city;
         }
 
+        public static Address of(String street, String city) {
+            return ADDRESSES.intern(new Address(intern(street), intern(city)));
+        }
+
         public String getCity() {
             return city;
         }
@@ -85,7 +215,16 @@ public final class DataImmutabilityExamples {
 
         @Override
         public int hashCode() {
-            return Objects.hash(street, city);
+            int h = hash;
+            if (h == 0 && !hashIsZero) {
+                h = 31 * (31 + Objects.hashCode(street)) + Objects.hashCode(city); // Same value as Objects.hash(street, city)
+                if (h == 0) {
+                    hashIsZero = true;
+                } else {
+                    hash = h;
+                }
+            }
+            return h;
         }
     }
 }
@@ -0,0 +1,206 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Address;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Compact binary snapshot of a {@link DataImmutabilityExamples}.
+ * - {@link #write(DataImmutabilityExamples, Path)} stores the items as UTF-8 plus an offsets table
+ * - {@link #read(Path)} memory-maps the file and serves the items straight from the mapping, without decoding them upfront,
+ *   so loading is near-instant and JVMs on the same host share the pages through the page cache
+ * - The mapping is read-only, so a loaded snapshot keeps the immutability guarantees
+ * - Truncated or corrupt files, including an inconsistent offsets table, fail with an {@link IOException} on read
+ *
+ * Layout (big-endian): magic, version, item count, data length, street, city, data (padded to 4 bytes), offsets.
+ * Street and city are stored as a byte length (-1 for null) followed by their UTF-8 bytes.
+ */
+public final class DataImmutabilitySnapshot {
+    private static final int MAGIC = 0x4A465053; // "JFPS"
+    private static final int VERSION = 1;
+    private static final int DATA_LENGTH_POSITION = 3 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DataImmutabilitySnapshot() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file next to the target, then moves it over the target atomically:
+     * a failed write leaves any previous snapshot intact. Strings that cannot be encoded as UTF-8 (unpaired surrogates)
+     * are rejected with an {@link IllegalArgumentException} instead of being altered.
+     */
+    public static void write(DataImmutabilityExamples examples, Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeTo(examples, temporary);
+            Files.move(temporary, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeTo(DataImmutabilityExamples examples, Path file) throws IOException {
+        List<String> items = examples.getImmutableItems();
+        Address address = examples.getAddress();
+        CharsetEncoder encoder = UTF_8.newEncoder(); // Reports malformed input, unlike String.getBytes
+        try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(items.size()).putInt(0);
+            putString(channel, buffer, encoder, address.getStreet(), "Street");
+            putString(channel, buffer, encoder, address.getCity(), "City");
+            int headerLength = (int) channel.position() + buffer.position();
+            // The whole file must fit in a single mapping when read
+            long maxDataLength = Integer.MAX_VALUE - headerLength - (Integer.BYTES - 1) - (items.size() + 1L) * Integer.BYTES;
+
+            // Data is written while the offsets are collected, then the offsets table goes after it
+            int[] offsets = new int[items.size() + 1];
+            long dataLength = 0;
+            for (int i = 0; i < items.size(); i++) {
+                ByteBuffer bytes = encode(encoder, items.get(i), "Item " + i);
+                dataLength += bytes.remaining();
+                if (dataLength > maxDataLength) {
+                    throw new IllegalArgumentException("Snapshot would exceed " + Integer.MAX_VALUE + " bytes");
+                }
+                put(channel, buffer, bytes);
+                offsets[i + 1] = (int) dataLength;
+            }
+            put(channel, buffer, ByteBuffer.allocate(padding(headerLength + dataLength)));
+            for (int offset : offsets) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(offset);
+            }
+            drain(channel, buffer);
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) dataLength), DATA_LENGTH_POSITION);
+        }
+    }
+
+    public static DataImmutabilityExamples read(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to be mapped: " + file);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid once the channel is closed
+        }
+        if (mapped.remaining() < 4 * Integer.BYTES || mapped.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+        int version = mapped.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        }
+        int size = mapped.getInt();
+        int dataLength = mapped.getInt();
+        if (size < 0 || dataLength < 0) {
+            throw new IOException("Corrupt snapshot header: " + file);
+        }
+        Address address = Address.of(getString(mapped, file), getString(mapped, file));
+
+        int dataStart = mapped.position();
+        long offsetsStart = dataStart + (long) dataLength + padding(dataStart + (long) dataLength);
+        long offsetsLength = (size + 1L) * Integer.BYTES;
+        if (offsetsStart + offsetsLength > mapped.limit()) {
+            throw new IOException("Truncated snapshot: " + file);
+        }
+        ByteBuffer data = mapped.slice(dataStart, dataLength);
+        IntBuffer offsets = mapped.slice((int) offsetsStart, (int) offsetsLength).asIntBuffer();
+        checkOffsets(offsets, dataLength, file);
+        return DataImmutabilityExamples.offHeap(new OffHeapStringList(data, offsets), address);
+    }
+
+    /**
+     * One pass over the mapped offsets, so that a corrupt table fails here rather than on a later {@code get}
+     */
+    private static void checkOffsets(IntBuffer offsets, int dataLength, Path file) throws IOException {
+        int previous = 0;
+        for (int i = 0; i < offsets.limit(); i++) {
+            int offset = offsets.get(i);
+            if (offset < previous || (i == 0 && offset != 0)) {
+                throw new IOException("Corrupt snapshot offsets: " + file);
+            }
+            previous = offset;
+        }
+        if (previous != dataLength) {
+            throw new IOException("Corrupt snapshot offsets: " + file);
+        }
+    }
+
+    private static int padding(long length) {
+        return (int) (-length & (Integer.BYTES - 1));
+    }
+
+    private static void putString(FileChannel channel, ByteBuffer buffer, CharsetEncoder encoder, String value,
+                                  String name) throws IOException {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        ByteBuffer bytes = encode(encoder, value, name);
+        buffer.putInt(bytes.remaining());
+        put(channel, buffer, bytes);
+    }
+
+    private static ByteBuffer encode(CharsetEncoder encoder, String value, String name) {
+        try {
+            return encoder.encode(CharBuffer.wrap(value));
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException(name + " cannot be encoded as UTF-8", e);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated snapshot: " + file);
+        }
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IOException("Truncated snapshot: " + file);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() > buffer.remaining()) {
+            drain(channel, buffer);
+            if (bytes.remaining() > buffer.remaining()) {
+                write(channel, bytes);
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        write(channel, buffer.flip());
+        buffer.clear();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Flat composition of int functions.
+ * - {@code f.andThen(g).andThen(h)...} nests one lambda inside another, so a long chain is a deep call stack
+ *   that goes beyond the JIT inlining depth
+ * - A FunctionChain records its stages in an array and applies them one after another in a loop,
+ *   so the call depth stays the same whatever the length of the chain
+ * - Stages built with {@link #multiply(int)}, {@link #add(int)}, {@link #square()} and {@link #clamp(int, int)} are known to the chain:
+ *   {@link #fused()} merges adjacent additions and multiplications into a single stage,
+ *   and {@link FunctionChainCompiler} can compile them into a single method
+ * - Any other {@link IntUnaryOperator} is an opaque stage, applied as is
+ */
+public final class FunctionChain implements IntUnaryOperator {
+    private static final FunctionChain IDENTITY = new FunctionChain(new IntUnaryOperator[0]);
+
+    private final IntUnaryOperator[] stages;
+
+    private FunctionChain(IntUnaryOperator[] stages) {
+        this.stages = stages;
+    }
+
+    public static FunctionChain identity() {
+        return IDENTITY;
+    }
+
+    public static FunctionChain of(IntUnaryOperator... stages) {
+        return IDENTITY.andThen(stages);
+    }
+
+    public static FunctionChain ofBoxed(Function<Integer, Integer> function) {
+        return of(PrimitiveFunctions.ofInt(function));
+    }
+
+    /**
+     * Stage computing {@code x * factor}
+     */
+    public static IntUnaryOperator multiply(int factor) {
+        return new Affine(factor, 0);
+    }
+
+    /**
+     * Stage computing {@code x + addend}
+     */
+    public static IntUnaryOperator add(int addend) {
+        return new Affine(1, addend);
+    }
+
+    /**
+     * Stage computing {@code x * x}
+     */
+    public static IntUnaryOperator square() {
+        return Square.INSTANCE;
+    }
+
+    /**
+     * Stage computing {@code min(max(x, lower), upper)}
+     */
+    public static IntUnaryOperator clamp(int lower, int upper) {
+        if (lower > upper) {
+            throw new IllegalArgumentException(lower + " > " + upper);
+        }
+        return new Clamp(lower, upper);
+    }
+
+    @Override
+    public int applyAsInt(int value) {
+        int result = value;
+        for (IntUnaryOperator stage : stages) {
+            result = stage.applyAsInt(result);
+        }
+        return result;
+    }
+
+    @Override
+    public FunctionChain andThen(IntUnaryOperator after) {
+        return andThen(new IntUnaryOperator[]{after});
+    }
+
+    /**
+     * Appends the stages in order. Nested chains are flattened into this one.
+     */
+    public FunctionChain andThen(IntUnaryOperator... after) {
+        List<IntUnaryOperator> all = new ArrayList<>(Arrays.asList(stages));
+        for (IntUnaryOperator stage : after) {
+            addFlattened(all, stage);
+        }
+        return new FunctionChain(all.toArray(new IntUnaryOperator[0]));
+    }
+
+    @Override
+    public FunctionChain compose(IntUnaryOperator before) {
+        return of(before).andThen(this);
+    }
+
+    /**
+     * Returns an equivalent chain where every run of adjacent additions and multiplications is a single stage.
+     * The result is exactly the same, since int arithmetic wraps around in both cases.
+     */
+    public FunctionChain fused() {
+        List<IntUnaryOperator> fused = new ArrayList<>();
+        for (IntUnaryOperator stage : stages) {
+            int last = fused.size() - 1;
+            if (stage instanceof Affine && last >= 0 && fused.get(last) instanceof Affine) {
+                fused.set(last, ((Affine) fused.get(last)).andThen((Affine) stage));
+            } else {
+                fused.add(stage);
+            }
+        }
+        return new FunctionChain(fused.toArray(new IntUnaryOperator[0]));
+    }
+
+    public int length() {
+        return stages.length;
+    }
+
+    IntUnaryOperator stage(int index) {
+        return stages[index];
+    }
+
+    public Function<Integer, Integer> boxed() {
+        return PrimitiveFunctions.boxedInt(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FunctionChain" + Arrays.toString(stages);
+    }
+
+    private static void addFlattened(List<IntUnaryOperator> stages, IntUnaryOperator stage) {
+        if (stage instanceof FunctionChain) {
+            stages.addAll(Arrays.asList(((FunctionChain) stage).stages));
+        } else {
+            stages.add(Objects.requireNonNull(stage));
+        }
+    }
+
+    /**
+     * Known arithmetic stage {@code x * multiplier + addend}
+     */
+    record Affine(int multiplier, int addend) implements IntUnaryOperator {
+        @Override
+        public int applyAsInt(int value) {
+            return value * multiplier + addend;
+        }
+
+        Affine andThen(Affine after) {
+            return new Affine(after.multiplier * multiplier, after.multiplier * addend + after.addend);
+        }
+    }
+
+    /**
+     * Known arithmetic stage {@code x * x}
+     */
+    record Square() implements IntUnaryOperator {
+        private static final Square INSTANCE = new Square();
+
+        @Override
+        public int applyAsInt(int value) {
+            return value * value;
+        }
+    }
+
+    /**
+     * Known comparison stage {@code min(max(x, lower), upper)}
+     */
+    record Clamp(int lower, int upper) implements IntUnaryOperator {
+        @Override
+        public int applyAsInt(int value) {
+            return Math.min(Math.max(value, lower), upper);
+        }
+    }
+}
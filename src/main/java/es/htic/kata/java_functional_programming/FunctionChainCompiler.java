@@ -0,0 +1,110 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.FunctionChain.Affine;
+import es.htic.kata.java_functional_programming.FunctionChain.Clamp;
+import es.htic.kata.java_functional_programming.FunctionChain.Square;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Compiles a {@link FunctionChain} into a single fused function.
+ * - The chain is fused first, then every stage becomes a method handle and they are combined into one handle tree:
+ *   known stages (affine arithmetic, square, clamp) as static methods, opaque lambdas bound to their applyAsInt
+ * - The tree is installed as a constant of a hidden class ({@link MethodHandles.Lookup#defineHiddenClassWithClassData})
+ *   implementing {@link IntUnaryOperator}, so the JIT compiles the whole chain as one method
+ * - If the hidden class cannot be defined, the fused chain is returned and interpreted stage by stage
+ */
+public final class FunctionChainCompiler {
+    private static final MethodType INT_UNARY = MethodType.methodType(int.class, int.class);
+    private static final MethodHandle AFFINE;
+    private static final MethodHandle SQUARE;
+    private static final MethodHandle CLAMP;
+    private static final MethodHandle APPLY_AS_INT;
+    private static final byte[] TEMPLATE = readTemplate();
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            AFFINE = lookup.findStatic(FunctionChainCompiler.class, "affine",
+                    MethodType.methodType(int.class, int.class, int.class, int.class));
+            SQUARE = lookup.findStatic(FunctionChainCompiler.class, "square", INT_UNARY);
+            CLAMP = lookup.findStatic(FunctionChainCompiler.class, "clamp",
+                    MethodType.methodType(int.class, int.class, int.class, int.class));
+            APPLY_AS_INT = lookup.findVirtual(IntUnaryOperator.class, "applyAsInt", INT_UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionChainCompiler() {
+    }
+
+    public static IntUnaryOperator compile(IntUnaryOperator function) {
+        FunctionChain chain = function instanceof FunctionChain
+                ? ((FunctionChain) function).fused()
+                : FunctionChain.of(function);
+        if (TEMPLATE == null) {
+            return chain;
+        }
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(TEMPLATE, toHandle(chain), true);
+            return (IntUnaryOperator) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (IllegalAccessException | LinkageError e) {
+            return chain; // Hidden class not available: fall back to interpretation
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Cannot instantiate compiled chain", t);
+        }
+    }
+
+    private static MethodHandle toHandle(FunctionChain chain) {
+        MethodHandle target = MethodHandles.identity(int.class);
+        for (int i = 0; i < chain.length(); i++) {
+            target = MethodHandles.filterReturnValue(target, toHandle(chain.stage(i)));
+        }
+        return target;
+    }
+
+    private static MethodHandle toHandle(IntUnaryOperator stage) {
+        if (stage instanceof Affine) {
+            Affine affine = (Affine) stage;
+            return MethodHandles.insertArguments(AFFINE, 0, affine.multiplier(), affine.addend());
+        }
+        if (stage instanceof Square) {
+            return SQUARE;
+        }
+        if (stage instanceof Clamp) {
+            Clamp clamp = (Clamp) stage;
+            return MethodHandles.insertArguments(CLAMP, 0, clamp.lower(), clamp.upper());
+        }
+        return APPLY_AS_INT.bindTo(stage); // Opaque lambda, called through its interface
+    }
+
+    private static byte[] readTemplate() {
+        try (InputStream template = FunctionChainCompiler.class.getResourceAsStream("FusedOperatorTemplate.class")) {
+            return template == null ? null : template.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int affine(int multiplier, int addend, int value) {
+        return value * multiplier + addend;
+    }
+
+    private static int square(int value) {
+        return value * value;
+    }
+
+    private static int clamp(int lower, int upper, int value) {
+        return Math.min(Math.max(value, lower), upper);
+    }
+}
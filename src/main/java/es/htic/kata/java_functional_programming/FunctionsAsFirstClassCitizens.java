@@ -1,6 +1,7 @@
 package es.htic.kata.java_functional_programming;
 
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
 public class FunctionsAsFirstClassCitizens {
 
@@ -19,5 +20,23 @@ public class FunctionsAsFirstClassCitizens {
 
         Function<Integer, Integer> addThenMultiply = squareFunction.compose(doubleFunction);
         System.out.println("squareFunction.compose(doubleFunction) = " + addThenMultiply.apply(5)); // Output: (5 * 2) ^ 2 = 100
+
+        // Same composition over primitives, without boxing at each stage
+        IntUnaryOperator squareOperator = x -> x * x;
+        IntUnaryOperator doubleOperator = x -> x * 2;
+
+        IntUnaryOperator primitiveSquareThenDouble = squareOperator.andThen(doubleOperator);
+        System.out.println("squareOperator.andThen(doubleOperator) = " + primitiveSquareThenDouble.applyAsInt(5)); // Output: 50
+
+        IntUnaryOperator primitiveAddThenMultiply = squareOperator.compose(doubleOperator);
+        System.out.println("squareOperator.compose(doubleOperator) = " + primitiveAddThenMultiply.applyAsInt(5)); // Output: 100
+
+        // Functions returning functions: currying and partial application
+        Function<Integer, Function<Integer, Integer>> curriedPower = Curry.memoizedCurry((base, exponent) -> (int) Math.pow(base, exponent), 100);
+        Function<Integer, Integer> powerOfTwo = curriedPower.apply(2);
+        System.out.println("curriedPower.apply(2).apply(10) = " + powerOfTwo.apply(10)); // Output: 1024
+
+        IntUnaryOperator addTen = Curry.curryInt(Integer::sum).apply(10);
+        System.out.println("curryInt(Integer::sum).apply(10).applyAsInt(5) = " + addTen.applyAsInt(5)); // Output: 15
     }
 }
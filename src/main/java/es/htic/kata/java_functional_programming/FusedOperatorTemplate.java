@@ -0,0 +1,35 @@
+package es.htic.kata.java_functional_programming;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Bytecode template for {@link FunctionChainCompiler}: never loaded as is, only defined as a hidden class
+ * whose class data is the method handle of a compiled chain.
+ * Each hidden class gets its own {@code static final} handle, a constant the JIT can inline through completely.
+ */
+final class FusedOperatorTemplate implements IntUnaryOperator {
+    private static final MethodHandle TARGET = target();
+
+    private static MethodHandle target() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public int applyAsInt(int value) {
+        try {
+            return (int) TARGET.invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Wraps functional interfaces to see which stages of a composition are called and how slow they are.
+ * - Every wrapped {@link Function}, {@link Predicate}, {@link Consumer} or {@link Supplier} is a named stage
+ *   counting its calls and failures with {@link LongAdder}s
+ * - Only a random sample of calls is measured, one in {@code sampleRate} (a power of two): the others cost a
+ *   thread-local random number, without {@link System#nanoTime()} nor any atomic update.
+ *   Each sampled call counts as {@code sampleRate} calls, so the number of calls is exact when timing every call
+ *   and an estimate otherwise. Failures are always counted exactly.
+ * - Sampled latencies go into a {@link LatencyHistogram} per stage
+ * - Wrapping again with the same name adds to the same stage
+ * - {@link #snapshot()} returns the counters of all stages, printable as a text table
+ */
+public final class Instrumentation {
+    private final int sampleMask;
+    private final ConcurrentMap<String, Stage> stages = new ConcurrentHashMap<>();
+
+    private Instrumentation(int sampleRate) {
+        if (sampleRate <= 0 || Integer.bitCount(sampleRate) != 1) {
+            throw new IllegalArgumentException("Sample rate must be a power of two: " + sampleRate);
+        }
+        this.sampleMask = sampleRate - 1;
+    }
+
+    /**
+     * Times every call
+     */
+    public static Instrumentation timingAll() {
+        return new Instrumentation(1);
+    }
+
+    /**
+     * Times one call in {@code sampleRate} on average, chosen at random
+     */
+    public static Instrumentation sampledEvery(int sampleRate) {
+        return new Instrumentation(sampleRate);
+    }
+
+    public <T, R> Function<T, R> function(String name, Function<T, R> function) {
+        Objects.requireNonNull(function);
+        Stage stage = stage(name);
+        return input -> {
+            long start = stage.start();
+            try {
+                return function.apply(input);
+            } catch (RuntimeException | Error e) {
+                stage.failures.increment();
+                throw e;
+            } finally {
+                stage.stop(start);
+            }
+        };
+    }
+
+    public <T> Predicate<T> predicate(String name, Predicate<T> predicate) {
+        Objects.requireNonNull(predicate);
+        Stage stage = stage(name);
+        return input -> {
+            long start = stage.start();
+            try {
+                return predicate.test(input);
+            } catch (RuntimeException | Error e) {
+                stage.failures.increment();
+                throw e;
+            } finally {
+                stage.stop(start);
+            }
+        };
+    }
+
+    public <T> Consumer<T> consumer(String name, Consumer<T> consumer) {
+        Objects.requireNonNull(consumer);
+        Stage stage = stage(name);
+        return input -> {
+            long start = stage.start();
+            try {
+                consumer.accept(input);
+            } catch (RuntimeException | Error e) {
+                stage.failures.increment();
+                throw e;
+            } finally {
+                stage.stop(start);
+            }
+        };
+    }
+
+    public <T> Supplier<T> supplier(String name, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier);
+        Stage stage = stage(name);
+        return () -> {
+            long start = stage.start();
+            try {
+                return supplier.get();
+            } catch (RuntimeException | Error e) {
+                stage.failures.increment();
+                throw e;
+            } finally {
+                stage.stop(start);
+            }
+        };
+    }
+
+    /**
+     * Counters of every stage, sorted by name
+     */
+    public Snapshot snapshot() {
+        List<StageSnapshot> snapshots = new ArrayList<>();
+        for (Stage stage : stages.values()) {
+            snapshots.add(new StageSnapshot(stage.name, stage.calls.sum(), stage.failures.sum(), stage.latencies.snapshot()));
+        }
+        snapshots.sort(Comparator.comparing(StageSnapshot::name));
+        return new Snapshot(List.copyOf(snapshots));
+    }
+
+    public void reset() {
+        for (Stage stage : stages.values()) {
+            stage.calls.reset();
+            stage.failures.reset();
+            stage.latencies.reset();
+        }
+    }
+
+    private Stage stage(String name) {
+        Objects.requireNonNull(name);
+        return stages.computeIfAbsent(name, key -> new Stage(key, sampleMask));
+    }
+
+    public record StageSnapshot(String name, long calls, long failures, LatencyHistogram.Snapshot latencies) {
+    }
+
+    public record Snapshot(List<StageSnapshot> stages) {
+
+        /**
+         * One line per stage: calls, failures and the sampled latencies in nanoseconds
+         */
+        public String toText() {
+            StringBuilder text = new StringBuilder(String.format("%-24s %12s %10s %10s %10s %10s %10s %10s %10s%n",
+                    "stage", "calls", "failures", "sampled", "mean(ns)", "p50", "p99", "p99.9", "max"));
+            for (StageSnapshot stage : stages) {
+                LatencyHistogram.Snapshot latencies = stage.latencies();
+                text.append(String.format("%-24s %12d %10d %10d %10.1f %10d %10d %10d %10d%n",
+                        stage.name(), stage.calls(), stage.failures(), latencies.count(), latencies.mean(),
+                        latencies.percentile(50), latencies.percentile(99), latencies.percentile(99.9), latencies.max()));
+            }
+            return text.toString();
+        }
+
+        @Override
+        public String toString() {
+            return toText();
+        }
+    }
+
+    private static final class Stage {
+        private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+        private final String name;
+        private final int sampleMask;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        private Stage(String name, int sampleMask) {
+            this.name = name;
+            this.sampleMask = sampleMask;
+        }
+
+        /**
+         * Start time of a sampled call, or {@link #NOT_SAMPLED}
+         */
+        private long start() {
+            if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+                return NOT_SAMPLED;
+            }
+            return System.nanoTime();
+        }
+
+        private void stop(long start) {
+            if (start != NOT_SAMPLED) {
+                latencies.record(System.nanoTime() - start);
+                calls.add(sampleMask + 1);
+            }
+        }
+    }
+}
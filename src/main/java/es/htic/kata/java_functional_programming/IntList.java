@@ -0,0 +1,117 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable list of primitive ints.
+ * - All values live in a single {@code int[]}: 4 bytes per element, instead of a reference plus an
+ *   {@link Integer} object (about 20 bytes) in a {@code List<Integer>}
+ * - {@link #forEach(IntConsumer)} is a plain counted loop passing primitives: nothing is boxed or allocated per element
+ * - {@link #asList()} offers a boxed view when a {@code List<Integer>} is needed
+ */
+public final class IntList {
+    private static final IntList EMPTY = new IntList(new int[0]);
+
+    private final int[] values;
+
+    private IntList(int[] values) {
+        this.values = values;
+    }
+
+    public static IntList of(int... values) {
+        return values.length == 0 ? EMPTY : new IntList(values.clone()); // Defensive copy
+    }
+
+    /**
+     * Values from {@code from} (inclusive) to {@code to} (exclusive)
+     */
+    public static IntList range(int from, int to) {
+        if (from >= to) {
+            return EMPTY;
+        }
+        int[] values = new int[Math.subtractExact(to, from)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i;
+        }
+        return new IntList(values);
+    }
+
+    public static IntList copyOf(Collection<Integer> values) {
+        int[] copy = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            copy[i++] = value;
+        }
+        return copy.length == 0 ? EMPTY : new IntList(copy);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public int get(int index) {
+        return values[Objects.checkIndex(index, values.length)];
+    }
+
+    public void forEach(IntConsumer action) {
+        Objects.requireNonNull(action);
+        for (int value : values) {
+            action.accept(value);
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values);
+    }
+
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Read-only boxed view: every access to an element boxes it
+     */
+    public List<Integer> asList() {
+        return new BoxedView();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(values, ((IntList) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+
+    private final class BoxedView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package es.htic.kata.java_functional_programming;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent canonicalization cache for immutable value objects.
+ * - {@link #intern(Object)} returns a single shared instance for every group of equal values
+ * - Canonical instances are weakly referenced, so values no longer used anywhere else can be garbage collected
+ * - Only makes sense for deeply immutable values with consistent equals and hashCode
+ *
+ * @param <T> the type of the interned values
+ */
+public final class Interner<T> {
+    private final ConcurrentHashMap<WeakKey<T>, WeakKey<T>> canonical = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+    /**
+     * Returns the canonical instance equal to the given value, registering the value itself if there is none.
+     */
+    public T intern(T value) {
+        Objects.requireNonNull(value);
+        expungeCollected();
+        WeakKey<T> key = new WeakKey<>(value, collected);
+        while (true) {
+            WeakKey<T> existing = canonical.putIfAbsent(key, key);
+            if (existing == null) {
+                return value;
+            }
+            T instance = existing.get();
+            if (instance != null) {
+                return instance;
+            }
+            // The canonical instance was collected between lookup and read: drop its entry and retry
+            canonical.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Number of canonical instances currently registered, including not yet expunged collected ones.
+     */
+    public int size() {
+        expungeCollected();
+        return canonical.size();
+    }
+
+    private void expungeCollected() {
+        Reference<? extends T> reference;
+        while ((reference = collected.poll()) != null) {
+            canonical.remove(reference);
+        }
+    }
+
+    /**
+     * Weak reference that keeps the hash of its referent, so it can still be found (and removed) once cleared.
+     * A cleared key is only equal to itself.
+     */
+    private static final class WeakKey<T> extends WeakReference<T> {
+        private final int hash;
+
+        private WeakKey(T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.hash = referent.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WeakKey)) return false;
+            Object referent = get();
+            return referent != null && referent.equals(((WeakKey<?>) o).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
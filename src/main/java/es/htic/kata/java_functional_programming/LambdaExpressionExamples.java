@@ -1,11 +1,13 @@
 package es.htic.kata.java_functional_programming;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class LambdaExpressionExamples {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         List<Integer> numbers = List.of(1, 2, 3, 4, 5);
 
         System.out.println("result using buildAnonymousClass");
@@ -16,6 +18,22 @@ public class LambdaExpressionExamples {
         numbers.forEach(buildLambdaExpression());
         System.out.println("result using buildLambdaExpressionWithMethodReference");
         numbers.forEach(buildLambdaExpressionWithMethodReference());
+
+        // Same consumers over primitive ints: no List<Integer> of boxed values, no unboxing per call
+        IntList primitiveNumbers = IntList.of(1, 2, 3, 4, 5);
+
+        System.out.println("result using buildIntAnonymousClass");
+        primitiveNumbers.forEach(buildIntAnonymousClass());
+        System.out.println("result using buildIntAnonymousClassWithStatements");
+        primitiveNumbers.forEach(buildIntAnonymousClassWithStatements());
+        System.out.println("result using buildIntLambdaExpression");
+        primitiveNumbers.forEach(buildIntLambdaExpression());
+        System.out.println("result using buildIntLambdaExpressionWithMethodReference");
+        primitiveNumbers.forEach(buildIntLambdaExpressionWithMethodReference());
+        System.out.println("result using BufferedIntSink");
+        try (BufferedIntSink sink = BufferedIntSink.toStandardOutput()) {
+            primitiveNumbers.forEach(sink);
+        }
     }
 
     /**
@@ -56,4 +74,44 @@ public class LambdaExpressionExamples {
     private static Consumer<Integer> buildLambdaExpressionWithMethodReference() {
         return System.out::println;
     }
+
+    /**
+     * How to declare an anonymous class in Java, for primitive ints.
+     */
+    private static IntConsumer buildIntAnonymousClass() {
+        return new IntConsumer() {
+            @Override
+            public void accept(int n) {
+                System.out.println(n);
+            }
+        };
+    }
+
+    /**
+     * How to declare an anonymous class in Java, for primitive ints.
+     */
+    private static IntConsumer buildIntAnonymousClassWithStatements() {
+        return new IntConsumer() {
+            @Override
+            public void accept(int n) {
+                System.out.print("int is... ");
+                System.out.println(n);
+            }
+        };
+    }
+
+    /**
+     * How to declare an anonymous class in Java using Lambda expression, for primitive ints
+     */
+    private static IntConsumer buildIntLambdaExpression() {
+        return n -> System.out.println(n);
+    }
+
+    /**
+     * How to declare an anonymous class in Java using Lambda expression with method reference, for primitive ints:
+     * resolves to {@code println(int)}
+     */
+    private static IntConsumer buildIntLambdaExpressionWithMethodReference() {
+        return System.out::println;
+    }
 }
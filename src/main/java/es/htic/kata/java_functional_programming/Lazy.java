@@ -0,0 +1,109 @@
+package es.htic.kata.java_functional_programming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Value computed on first use, at most once even when several threads ask for it at the same time (call-by-need).
+ * - Once evaluated, {@link #get()} is a single acquire read of the value, with no lock
+ * - The first evaluation is double-checked: a lock is only taken while the value is not there yet
+ * - The supplier is released after evaluation, so whatever it captured can be garbage collected
+ * - If the supplier throws, the exception is propagated and the next call tries again
+ * - {@link #map(Function)} and {@link #flatMap(Function)} build new lazy values without evaluating this one
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private static final Object NULL = new Object(); // Evaluated to null, as null means not evaluated yet
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Lazy.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Supplier<? extends T> supplier; // Guarded by this, null once evaluated or while evaluating
+    private Object value; // Written once with release semantics, read with acquire semantics
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        if (supplier instanceof Lazy) {
+            return (Lazy<T>) supplier;
+        }
+        return new Lazy<>(Objects.requireNonNull(supplier));
+    }
+
+    /**
+     * Lazy value that is already evaluated
+     */
+    public static <T> Lazy<T> value(T value) {
+        Lazy<T> lazy = new Lazy<>(null);
+        VALUE.setRelease(lazy, value == null ? NULL : value);
+        return lazy;
+    }
+
+    @Override
+    public T get() {
+        Object result = VALUE.getAcquire(this);
+        if (result == null) {
+            result = evaluate();
+        }
+        return unwrap(result);
+    }
+
+    public boolean isEvaluated() {
+        return VALUE.getAcquire(this) != null;
+    }
+
+    public <R> Lazy<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return new Lazy<>(() -> mapper.apply(get()));
+    }
+
+    public <R> Lazy<R> flatMap(Function<? super T, ? extends Supplier<? extends R>> mapper) {
+        Objects.requireNonNull(mapper);
+        return new Lazy<>(() -> mapper.apply(get()).get());
+    }
+
+    @Override
+    public String toString() {
+        Object result = VALUE.getAcquire(this);
+        return result == null ? "Lazy[not evaluated]" : "Lazy[" + unwrap(result) + "]";
+    }
+
+    private synchronized Object evaluate() {
+        Object result = value; // Plain read is enough under the lock
+        if (result != null) {
+            return result;
+        }
+        Supplier<? extends T> pending = supplier;
+        if (pending == null) {
+            throw new IllegalStateException("Recursive evaluation of a lazy value");
+        }
+        supplier = null;
+        try {
+            T computed = pending.get();
+            result = computed == null ? NULL : computed;
+        } catch (RuntimeException | Error e) {
+            supplier = pending; // Try again on the next call
+            throw e;
+        }
+        VALUE.setRelease(this, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(Object result) {
+        return result == NULL ? null : (T) result;
+    }
+}
@@ -0,0 +1,209 @@
+package es.htic.kata.java_functional_programming;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe memoization of a pure function, with bounded size.
+ * - Results are cached in lock-striped segments, each one evicting its least recently used entry when full.
+ *   The maximum size is split among the segments, so the cache never holds more than it, but uneven hashing
+ *   can start evicting before it is reached. The eviction order is LRU within each segment
+ * - The function is called outside any lock: a memoized function can call itself recursively (unlike
+ *   {@code ConcurrentHashMap.computeIfAbsent}) and a slow call never blocks other keys.
+ *   Two threads missing the same key at the same time may both compute it, which is harmless for a pure function
+ * - Entries can optionally expire a fixed time after being computed
+ * - Hits, misses, evictions and expirations are counted with {@link LongAdder}s
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ */
+public final class Memoized<T, R> implements Function<T, R> {
+    private final Function<? super T, ? extends R> function;
+    private final Segment[] segments;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private Memoized(Builder builder, Function<? super T, ? extends R> function) {
+        this.function = Objects.requireNonNull(function);
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.ticker = builder.ticker;
+        int segmentCount = Integer.highestOneBit((int) Math.min(builder.concurrencyLevel, builder.maximumSize));
+        long segmentCapacity = builder.maximumSize / segmentCount;
+        long remainder = builder.maximumSize % segmentCount; // The first segments hold one more, to add up to the maximum
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(i < remainder ? segmentCapacity + 1 : segmentCapacity, evictions);
+        }
+    }
+
+    /**
+     * Memoizes with the default settings: up to 10,000 results, no expiry
+     */
+    public static <T, R> Memoized<T, R> of(Function<? super T, ? extends R> function) {
+        return builder().build(function);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T input) {
+        Segment segment = segmentFor(input);
+        long now = expireAfterWriteNanos > 0 ? ticker.getAsLong() : 0;
+        synchronized (segment) {
+            Entry entry = segment.get(input);
+            if (entry != null) {
+                if (expireAfterWriteNanos == 0 || now - entry.expiresAt < 0) {
+                    hits.increment();
+                    return (R) entry.value;
+                }
+                segment.remove(input);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        R result = function.apply(input); // Outside the lock
+        long expiresAt = expireAfterWriteNanos > 0 ? ticker.getAsLong() + expireAfterWriteNanos : 0;
+        synchronized (segment) {
+            segment.put(input, new Entry(result, expiresAt));
+        }
+        return result;
+    }
+
+    /**
+     * Number of cached results, including expired ones not yet removed
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private Segment segmentFor(Object input) {
+        int hash = Objects.hashCode(input);
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * Snapshot of the counters
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    public static final class Builder {
+        private long maximumSize = 10_000;
+        private long expireAfterWriteNanos;
+        private int concurrencyLevel = 4 * Runtime.getRuntime().availableProcessors();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Upper bound of the number of cached results, split among the segments
+         */
+        public Builder maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder expireAfterWrite(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Expiry must be positive");
+            }
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        /**
+         * Number of independently locked segments, rounded down to a power of two and at most the maximum size
+         */
+        public Builder concurrencyLevel(int concurrencyLevel) {
+            if (concurrencyLevel <= 0) {
+                throw new IllegalArgumentException("Concurrency level must be positive");
+            }
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * Time source in nanoseconds used for expiry, {@link System#nanoTime()} by default
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker);
+            return this;
+        }
+
+        public <T, R> Memoized<T, R> build(Function<? super T, ? extends R> function) {
+            return new Memoized<>(this, function);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Access-ordered map evicting its least recently used entry beyond its capacity. Guarded by its own monitor.
+     */
+    private static final class Segment extends LinkedHashMap<Object, Entry> {
+        private final long capacity;
+        private final LongAdder evictions;
+
+        private Segment(long capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package es.htic.kata.java_functional_programming;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Immutable list of strings stored outside the Java heap.
+ * - All strings are encoded as UTF-8 into a single direct byte buffer, with an offsets buffer marking where each one starts
+ * - The garbage collector sees three objects instead of one String (and its byte array) per element
+ * - Strings are decoded lazily on {@link #get(int)}, so every access allocates a new String
+ * - A direct buffer is limited to 2 GiB of encoded text
+ * - Strings with unpaired surrogates cannot be encoded as UTF-8, so they are rejected instead of being altered
+ */
+public final class OffHeapStringList extends AbstractList<String> implements RandomAccess {
+    private final ByteBuffer data;
+    private final IntBuffer offsets;
+
+    /**
+     * Wraps already encoded data: {@code offsets} holds size + 1 entries, string i spanning [offsets[i], offsets[i + 1]).
+     * The buffers must not be modified afterwards.
+     */
+    OffHeapStringList(ByteBuffer data, IntBuffer offsets) {
+        this.data = data.asReadOnlyBuffer();
+        this.offsets = offsets.asReadOnlyBuffer();
+    }
+
+    public static OffHeapStringList copyOf(Collection<String> items) {
+        CharsetEncoder encoder = UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        IntBuffer offsets = ByteBuffer.allocateDirect(checkCapacity((items.size() + 1L) * Integer.BYTES)).asIntBuffer();
+        ByteBuffer data = ByteBuffer.allocateDirect(checkCapacity(16 + items.stream().mapToLong(String::length).sum()));
+        offsets.put(0);
+        int index = 0;
+        for (String item : items) {
+            data = encode(encoder, Objects.requireNonNull(item), data, index++);
+            offsets.put(data.position());
+        }
+        return new OffHeapStringList(trim(data.flip()), offsets.flip());
+    }
+
+    /**
+     * Appends the UTF-8 bytes of the item, growing the buffer as needed. Unpaired surrogates are rejected
+     * instead of being replaced, so that every string is decoded back unchanged.
+     */
+    private static ByteBuffer encode(CharsetEncoder encoder, String item, ByteBuffer data, int index) {
+        CharBuffer chars = CharBuffer.wrap(item);
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(chars, data, true)).isOverflow()) {
+            data = grow(data, chars.remaining());
+        }
+        if (result.isError()) {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException e) {
+                throw new IllegalArgumentException("Item " + index + " cannot be encoded as UTF-8", e);
+            }
+        }
+        while (encoder.flush(data).isOverflow()) {
+            data = grow(data, 1);
+        }
+        return data;
+    }
+
+    private static ByteBuffer grow(ByteBuffer data, int remainingChars) {
+        int required = checkCapacity(data.position() + 3L * remainingChars); // Worst case of 3 bytes per char
+        int capacity = (int) Math.min(Math.max(2L * data.capacity(), required), Integer.MAX_VALUE);
+        return ByteBuffer.allocateDirect(capacity).put(data.flip());
+    }
+
+    /**
+     * Copies the data into an exact-size buffer when doubling left more than an eighth of it unused
+     */
+    private static ByteBuffer trim(ByteBuffer data) {
+        if (data.capacity() - data.limit() <= data.limit() / 8) {
+            return data;
+        }
+        return ByteBuffer.allocateDirect(data.limit()).put(data).flip();
+    }
+
+    private static int checkCapacity(long capacity) {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Encoded items exceed " + Integer.MAX_VALUE + " bytes");
+        }
+        return (int) capacity;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size());
+        int start = offsets.get(index);
+        byte[] bytes = new byte[offsets.get(index + 1) - start];
+        data.get(start, bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return offsets.limit() - 1;
+    }
+}
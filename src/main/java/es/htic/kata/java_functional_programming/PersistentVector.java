@@ -0,0 +1,344 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Persistent (immutable) vector with structural sharing.
+ * - Elements are stored in a 32-way trie plus a tail buffer holding the last (up to 32) elements
+ * - {@link #append(Object)} and {@link #with(int, Object)} return a new version in O(log32 n),
+ *   copying only the path to the changed leaf and sharing every other node with the previous version
+ * - Reads never copy, so the vector can be handed out directly as a read-only {@link List}
+ * - Mutating methods inherited from {@link java.util.List} throw {@link UnsupportedOperationException}
+ * - {@link #asTransient()} allows a batch of in-place edits that is then frozen into a new version in O(1)
+ *
+ * @param <E> the type of elements
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final Object[] EMPTY_TAIL = new Object[0];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, EMPTY_TAIL);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        return copyOf(Arrays.asList(elements));
+    }
+
+    /**
+     * Builds a vector from the given elements bottom-up, without creating intermediate versions.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentVector) {
+            return (PersistentVector<E>) elements; // Already immutable, safe to share
+        }
+        Object[] values = elements.toArray();
+        for (Object value : values) {
+            Objects.requireNonNull(value);
+        }
+        if (values.length == 0) {
+            return empty();
+        }
+        int tailOffset = ((values.length - 1) >>> BITS) << BITS;
+        Object[] tail = Arrays.copyOfRange(values, tailOffset, values.length);
+
+        // Leaves of the trie, then group them level by level until they fit in a single root
+        Node[] nodes = new Node[tailOffset >>> BITS];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(null, Arrays.copyOfRange(values, i << BITS, (i + 1) << BITS));
+        }
+        int shift = BITS;
+        while (nodes.length > WIDTH) {
+            Node[] parents = new Node[(nodes.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = new Node(null, new Object[WIDTH]);
+                int from = i << BITS;
+                System.arraycopy(nodes, from, parents[i].array, 0, Math.min(WIDTH, nodes.length - from));
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        Node root = new Node(null, new Object[WIDTH]);
+        System.arraycopy(nodes, 0, root.array, 0, nodes.length);
+        return new PersistentVector<>(values.length, shift, root, tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) leafFor(size, shift, root, tail, index)[index & MASK];
+    }
+
+    /**
+     * Returns a new vector with the element added at the end. This vector is left untouched.
+     */
+    public PersistentVector<E> append(E element) {
+        Objects.requireNonNull(element);
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // Tail is full: push it into the trie and start a new tail
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Returns a new vector with the element at the given index replaced. This vector is left untouched.
+     * Named {@code with} because {@link java.util.List#set(int, Object)} has mutating semantics.
+     */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        Objects.requireNonNull(element);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(null, shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a transient copy of this vector in O(1): edits on it are done in place on nodes it owns,
+     * copying a shared node only the first time it is touched. This vector is never modified.
+     */
+    public Transient<E> asTransient() {
+        return new Transient<>(this);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private int leafStart = -WIDTH;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index - leafStart >= WIDTH) {
+                    leaf = leafFor(size, shift, root, tail, index);
+                    leafStart = index;
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    private int tailOffset() {
+        return tailOffset(size);
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] leafFor(int size, int shift, Node root, Object[] tail, int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Returns the node itself when it is owned by the given edit token, or a copy owned by it otherwise.
+     * Persistent nodes have no owner ({@code null}), so they are always copied.
+     */
+    private static Node editable(Object edit, Node node) {
+        return edit != null && node.edit == edit ? node : new Node(edit, node.array.clone());
+    }
+
+    private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Node node = editable(edit, parent);
+        if (level == BITS) {
+            node.array[subIndex] = tailNode;
+        } else {
+            Node child = (Node) parent.array[subIndex];
+            node.array[subIndex] = child != null
+                    ? pushTail(edit, size, level - BITS, child, tailNode)
+                    : newPath(edit, level - BITS, tailNode);
+        }
+        return node;
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private static Node replace(Object edit, int level, Node node, int index, Object element) {
+        Node copy = editable(edit, node);
+        if (level == 0) {
+            copy.array[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            copy.array[subIndex] = replace(edit, level - BITS, (Node) node.array[subIndex], index, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Trie node: children (or elements, for leaves) plus the edit token of the transient that owns it, if any
+     */
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        private Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Mutable, single-use editing session over a {@link PersistentVector} (in the spirit of Clojure transients).
+     * - Every node created or copied by the transient carries its edit token, so further edits on it are done in place
+     * - {@link #freeze()} returns the new vector in O(1) and invalidates the transient: any later call throws
+     *   {@link IllegalStateException}, so the frozen vector can never be mutated through it
+     * - Not thread-safe: meant to be used by a single thread before freezing
+     *
+     * @param <E> the type of elements
+     */
+    public static final class Transient<E> {
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Transient(PersistentVector<E> vector) {
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = editable(edit, vector.root);
+            this.tail = Arrays.copyOf(vector.tail, WIDTH); // Owned tail with room to append in place
+        }
+
+        public int size() {
+            ensureEditable();
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            return (E) leafFor(size, shift, root, tail, index)[index & MASK];
+        }
+
+        public Transient<E> append(E element) {
+            ensureEditable();
+            Objects.requireNonNull(element);
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = element;
+                size++;
+                return this;
+            }
+            // Tail is full: push it into the trie and start a new tail
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Transient<E> set(int index, E element) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            Objects.requireNonNull(element);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = replace(edit, shift, root, index, element);
+            }
+            return this;
+        }
+
+        /**
+         * Ends the editing session and returns the resulting persistent vector
+         */
+        public PersistentVector<E> freeze() {
+            ensureEditable();
+            edit = null;
+            if (size == 0) {
+                return empty();
+            }
+            Object[] trimmedTail = Arrays.copyOf(tail, size - tailOffset(size));
+            return new PersistentVector<>(size, shift, root, trimmedTail);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient used after freeze");
+            }
+        }
+    }
+}
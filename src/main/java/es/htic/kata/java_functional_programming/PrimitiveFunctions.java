@@ -0,0 +1,128 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Composition of functions over primitive values.
+ * - {@code Function<Integer, Integer>} boxes and unboxes the value at every stage of an andThen/compose chain
+ * - {@link IntUnaryOperator}, {@link LongUnaryOperator} and {@link DoubleUnaryOperator} offer the same andThen/compose
+ *   without boxing, so whole chains of stages run on primitives
+ * - The {@code of*} methods adapt existing boxed functions (boxing only inside that stage) and {@code boxed*} go the other way,
+ *   unwrapping each other instead of stacking adapters
+ */
+public final class PrimitiveFunctions {
+
+    private PrimitiveFunctions() {
+    }
+
+    /**
+     * Composes the stages in order: the first stage is applied first, as {@code stages[0].andThen(stages[1])...}
+     */
+    public static IntUnaryOperator intChain(IntUnaryOperator... stages) {
+        if (stages.length == 0) {
+            return IntUnaryOperator.identity();
+        }
+        IntUnaryOperator chain = stages[0];
+        for (int i = 1; i < stages.length; i++) {
+            chain = chain.andThen(stages[i]);
+        }
+        return chain;
+    }
+
+    public static LongUnaryOperator longChain(LongUnaryOperator... stages) {
+        if (stages.length == 0) {
+            return LongUnaryOperator.identity();
+        }
+        LongUnaryOperator chain = stages[0];
+        for (int i = 1; i < stages.length; i++) {
+            chain = chain.andThen(stages[i]);
+        }
+        return chain;
+    }
+
+    public static DoubleUnaryOperator doubleChain(DoubleUnaryOperator... stages) {
+        if (stages.length == 0) {
+            return DoubleUnaryOperator.identity();
+        }
+        DoubleUnaryOperator chain = stages[0];
+        for (int i = 1; i < stages.length; i++) {
+            chain = chain.andThen(stages[i]);
+        }
+        return chain;
+    }
+
+    public static IntUnaryOperator ofInt(Function<Integer, Integer> function) {
+        if (function instanceof BoxedInt) {
+            return ((BoxedInt) function).operator;
+        }
+        return function::apply;
+    }
+
+    public static LongUnaryOperator ofLong(Function<Long, Long> function) {
+        if (function instanceof BoxedLong) {
+            return ((BoxedLong) function).operator;
+        }
+        return function::apply;
+    }
+
+    public static DoubleUnaryOperator ofDouble(Function<Double, Double> function) {
+        if (function instanceof BoxedDouble) {
+            return ((BoxedDouble) function).operator;
+        }
+        return function::apply;
+    }
+
+    public static Function<Integer, Integer> boxedInt(IntUnaryOperator operator) {
+        return new BoxedInt(operator);
+    }
+
+    public static Function<Long, Long> boxedLong(LongUnaryOperator operator) {
+        return new BoxedLong(operator);
+    }
+
+    public static Function<Double, Double> boxedDouble(DoubleUnaryOperator operator) {
+        return new BoxedDouble(operator);
+    }
+
+    private static final class BoxedInt implements Function<Integer, Integer> {
+        private final IntUnaryOperator operator;
+
+        private BoxedInt(IntUnaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public Integer apply(Integer value) {
+            return operator.applyAsInt(value);
+        }
+    }
+
+    private static final class BoxedLong implements Function<Long, Long> {
+        private final LongUnaryOperator operator;
+
+        private BoxedLong(LongUnaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public Long apply(Long value) {
+            return operator.applyAsLong(value);
+        }
+    }
+
+    private static final class BoxedDouble implements Function<Double, Double> {
+        private final DoubleUnaryOperator operator;
+
+        private BoxedDouble(DoubleUnaryOperator operator) {
+            this.operator = operator;
+        }
+
+        @Override
+        public Double apply(Double value) {
+            return operator.applyAsDouble(value);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package es.htic.kata.java_functional_programming;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Recursion without stack overflow: a recursive step returns the next step to run instead of calling it.
+ * - {@link #done(Object)} ends the recursion with a result
+ * - {@link #more(Supplier)} is a tail call: the runner loops on it, so no stack frame and no continuation is kept
+ * - {@link #flatMap(Function)} and {@link #map(Function)} continue with the result of a step, for recursion that is
+ *   not in tail position; pending continuations are kept on a heap stack, created only when the first one is needed
+ * - {@link #run()} executes the steps in a loop, in constant call stack whatever the depth of the recursion
+ *
+ * @param <T> the type of the result
+ */
+public abstract class Trampoline<T> {
+
+    private Trampoline() {
+    }
+
+    public static <T> Trampoline<T> done(T result) {
+        return new Done<>(result);
+    }
+
+    public static <T> Trampoline<T> more(Supplier<Trampoline<T>> next) {
+        return new More<>(Objects.requireNonNull(next));
+    }
+
+    public <R> Trampoline<R> flatMap(Function<? super T, Trampoline<R>> next) {
+        return new FlatMap<>(this, Objects.requireNonNull(next));
+    }
+
+    public <R> Trampoline<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return flatMap(result -> done(mapper.apply(result)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public final T run() {
+        Trampoline<?> current = this;
+        ArrayDeque<Function<Object, Trampoline<?>>> continuations = null;
+        while (true) {
+            if (current instanceof More) {
+                current = ((More<?>) current).next.get();
+            } else if (current instanceof FlatMap) {
+                FlatMap<Object, ?> flatMap = (FlatMap<Object, ?>) current;
+                if (flatMap.source instanceof Done) { // No need to go through the stack
+                    current = flatMap.next.apply(((Done<?>) flatMap.source).result);
+                } else {
+                    if (continuations == null) {
+                        continuations = new ArrayDeque<>();
+                    }
+                    continuations.push((Function<Object, Trampoline<?>>) (Function<?, ?>) flatMap.next);
+                    current = flatMap.source;
+                }
+            } else {
+                Object result = ((Done<?>) current).result;
+                if (continuations == null || continuations.isEmpty()) {
+                    return (T) result;
+                }
+                current = continuations.pop().apply(result);
+            }
+        }
+    }
+
+    private static final class Done<T> extends Trampoline<T> {
+        private final T result;
+
+        private Done(T result) {
+            this.result = result;
+        }
+    }
+
+    private static final class More<T> extends Trampoline<T> {
+        private final Supplier<Trampoline<T>> next;
+
+        private More(Supplier<Trampoline<T>> next) {
+            this.next = next;
+        }
+    }
+
+    private static final class FlatMap<S, T> extends Trampoline<T> {
+        private final Trampoline<S> source;
+        private final Function<? super S, Trampoline<T>> next;
+
+        private FlatMap(Trampoline<S> source, Function<? super S, Trampoline<T>> next) {
+            this.source = source;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncConsumerTest {
+    private static final int ELEMENTS = 10_000;
+
+    @Test
+    public void testSingleProducerConsumesInOrderWithEveryWaitStrategy() {
+        for (AsyncConsumer.WaitStrategy waitStrategy : AsyncConsumer.WaitStrategy.values()) {
+            //given a small buffer and a single producer
+            List<Integer> consumed = new ArrayList<>();
+            AsyncConsumer<Integer> async = AsyncConsumer.builder()
+                    .bufferSize(64)
+                    .producerType(AsyncConsumer.ProducerType.SINGLE)
+                    .waitStrategy(waitStrategy)
+                    .build(consumed::add);
+
+            //when many more elements than slots are published, then closed
+            IntStream.range(0, ELEMENTS).boxed().forEach(async);
+            async.close();
+
+            //then all of them were consumed in order on the consumer thread
+            assertEquals(IntStream.range(0, ELEMENTS).boxed().collect(Collectors.toList()), consumed, waitStrategy.name());
+            AsyncConsumer.Stats stats = async.stats();
+            assertEquals(ELEMENTS, stats.published());
+            assertEquals(ELEMENTS, stats.consumed());
+            assertEquals(0, stats.dropped());
+            assertEquals(ELEMENTS, stats.publishLatency().count());
+            assertEquals(ELEMENTS, stats.endToEndLatency().count());
+        }
+    }
+
+    @Test
+    public void testMultipleProducers() throws Exception {
+        //given a consumer shared by 4 producer threads
+        LongAdder sum = new LongAdder();
+        LongAdder count = new LongAdder();
+        AsyncConsumer<Integer> async = AsyncConsumer.builder()
+                .bufferSize(16)
+                .waitStrategy(AsyncConsumer.WaitStrategy.YIELD)
+                .build(value -> {
+                    sum.add(value);
+                    count.increment();
+                });
+
+        //when every producer publishes the same elements at the same time
+        int producers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < producers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    IntStream.range(0, ELEMENTS).boxed().forEach(async);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        async.close();
+
+        //then every element was consumed once
+        assertEquals((long) producers * ELEMENTS, count.sum());
+        assertEquals((long) producers * ELEMENTS * (ELEMENTS - 1) / 2, sum.sum());
+        assertEquals((long) producers * ELEMENTS, async.stats().consumed());
+    }
+
+    @Test
+    public void testDropWhenFull() throws InterruptedException {
+        //given a consumer blocked on its first element
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncConsumer<Integer> async = AsyncConsumer.builder()
+                .bufferSize(4)
+                .backPressure(AsyncConsumer.BackPressure.DROP)
+                .build(value -> await(release));
+
+        //when more elements than the buffer holds are published
+        IntStream.range(0, 100).boxed().forEach(async);
+        release.countDown();
+        async.close();
+
+        //then the elements that did not fit were dropped without blocking
+        AsyncConsumer.Stats stats = async.stats();
+        assertTrue(stats.consumed() >= 4 && stats.consumed() <= 5, "consumed " + stats.consumed());
+        assertEquals(100, stats.consumed() + stats.dropped());
+    }
+
+    @Test
+    public void testSampleFromHalfFull() {
+        //given a consumer blocked until the test is done publishing
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncConsumer<Integer> async = AsyncConsumer.builder()
+                .bufferSize(1024)
+                .producerType(AsyncConsumer.ProducerType.SINGLE)
+                .backPressure(AsyncConsumer.BackPressure.SAMPLE)
+                .sampleRate(4)
+                .build(value -> await(release));
+
+        //when filling the buffer
+        IntStream.range(0, 1024).boxed().forEach(async);
+        release.countDown();
+        async.close();
+
+        //then the first half was published, and about one in 4 of the rest
+        AsyncConsumer.Stats stats = async.stats();
+        assertEquals(1024, stats.published() + stats.dropped());
+        assertEquals(512 + 128, stats.published(), 48);
+    }
+
+    @Test
+    public void testFailuresAreCountedAndConsumingGoesOn() {
+        List<Integer> consumed = new ArrayList<>();
+        AsyncConsumer<Integer> async = AsyncConsumer.builder().build(value -> {
+            if (value % 10 == 0) {
+                throw new IllegalArgumentException();
+            }
+            consumed.add(value);
+        });
+
+        IntStream.range(0, 100).boxed().forEach(async);
+        async.close();
+
+        assertEquals(90, consumed.size());
+        assertEquals(10, async.stats().failures());
+        assertEquals(100, async.stats().consumed());
+    }
+
+    @Test
+    public void testErrorsAreCountedAndConsumingGoesOn() {
+        //given a side effect throwing an Error, and a buffer smaller than the elements published
+        List<Integer> consumed = new ArrayList<>();
+        AsyncConsumer<Integer> async = AsyncConsumer.builder().bufferSize(4).build(value -> {
+            if (value % 10 == 0) {
+                throw new AssertionError(value);
+            }
+            consumed.add(value);
+        });
+
+        //when publishing with the default blocking back pressure
+        IntStream.range(0, 100).boxed().forEach(async);
+        async.close();
+
+        //then the consumer thread survived the errors and producers were never left blocked
+        assertEquals(90, consumed.size());
+        assertEquals(10, async.stats().failures());
+        assertEquals(100, async.stats().consumed());
+    }
+
+    @Test
+    public void testClosedAndInvalidSettings() {
+        AsyncConsumer<Object> async = AsyncConsumer.builder().latencySampleRate(64).build(value -> { });
+        async.close();
+        async.close();
+
+        assertThrows(IllegalStateException.class, () -> async.accept("late"));
+        assertThrows(IllegalArgumentException.class, () -> AsyncConsumer.builder().bufferSize(1000));
+        assertThrows(IllegalArgumentException.class, () -> AsyncConsumer.builder().sampleRate(0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
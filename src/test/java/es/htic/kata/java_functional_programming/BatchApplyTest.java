@@ -0,0 +1,77 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static es.htic.kata.java_functional_programming.FunctionChain.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchApplyTest {
+
+    private static final int SIZE = 20 * BatchApply.BLOCK_SIZE + 123;
+
+    private final FunctionChain chain = FunctionChain.of(
+            multiply(3), add(1), square(), clamp(-1_000_000, 1_000_000), x -> x ^ 0x55, add(-7));
+
+    @Test
+    public void testChainAppliedStageByStageMatchesPerElement() {
+        //given values and a chain mixing known and opaque stages
+        int[] values = IntStream.range(-SIZE / 2, SIZE / 2).toArray();
+        int[] expected = IntStream.of(values).map(chain).toArray();
+
+        //when applied in batch into a destination and in place
+        int[] destination = new int[values.length];
+        BatchApply.apply(values, destination, chain);
+        int[] inPlace = values.clone();
+        BatchApply.applyInPlace(inPlace, chain);
+
+        //then results match applying the chain element by element
+        assertArrayEquals(expected, destination);
+        assertArrayEquals(expected, inPlace);
+    }
+
+    @Test
+    public void testParallelApplyMatchesSequential() {
+        int[] values = IntStream.range(0, SIZE).toArray();
+        int[] parallel = new int[SIZE];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchApply.parallelApply(values, parallel, chain, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertArrayEquals(IntStream.of(values).map(chain).toArray(), parallel);
+    }
+
+    @Test
+    public void testLongAndDoubleArrays() {
+        long[] longs = LongStream.range(0, SIZE).toArray();
+        double[] doubles = DoubleStream.iterate(0.5, x -> x + 1).limit(SIZE).toArray();
+        long[] longResults = new long[SIZE];
+        double[] doubleResults = new double[SIZE];
+
+        BatchApply.parallelApply(longs, longResults, x -> x * x, ForkJoinPool.commonPool());
+        BatchApply.applyInPlace(doubles, x -> x * 2);
+        BatchApply.parallelApply(doubles, doubleResults, x -> x + 1, ForkJoinPool.commonPool());
+
+        assertEquals((long) (SIZE - 1) * (SIZE - 1), longResults[SIZE - 1]);
+        assertEquals(2.0 * (SIZE - 0.5) + 1, doubleResults[SIZE - 1]);
+    }
+
+    @Test
+    public void testPlainOperatorAndLengthMismatch() {
+        IntUnaryOperator negate = x -> -x;
+        int[] values = {1, 2, 3};
+
+        BatchApply.applyInPlace(values, negate);
+
+        assertArrayEquals(new int[]{-1, -2, -3}, values);
+        assertThrows(IllegalArgumentException.class, () -> BatchApply.apply(values, new int[2], negate));
+    }
+}
@@ -0,0 +1,74 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferedIntSinkTest {
+    private static final String SEPARATOR = System.lineSeparator();
+
+    @Test
+    public void testFormatsIntegersAsPrintln() throws IOException {
+        //given integers of every length and sign
+        List<Integer> values = List.of(0, 7, -7, 10, 99, -100, 123_456_789, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //when written through the sink as a Consumer<Integer>
+        try (BufferedIntSink sink = BufferedIntSink.to(Channels.newChannel(output))) {
+            values.forEach(sink);
+        }
+
+        //then the output is the same as println
+        assertEquals(values.stream().map(v -> v + SEPARATOR).collect(Collectors.joining()),
+                output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testWritesOnlyWhenFullOrFlushed() throws IOException {
+        //given a small buffer
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BufferedIntSink sink = BufferedIntSink.to(Channels.newChannel(output), 32);
+
+        //when a few integers are written, nothing reaches the channel until flush
+        sink.accept(1);
+        sink.accept(2);
+        assertEquals(0, output.size());
+        sink.flush();
+        assertEquals("1" + SEPARATOR + "2" + SEPARATOR, output.toString(StandardCharsets.US_ASCII));
+
+        //when more integers than the buffer holds are written, full buffers are written on the way
+        IntStream.range(0, 1_000).forEach(sink);
+        assertTrue(output.size() > 32);
+        sink.close();
+
+        //then everything was written in order
+        String expected = "1" + SEPARATOR + "2" + SEPARATOR
+                + IntStream.range(0, 1_000).mapToObj(i -> i + SEPARATOR).collect(Collectors.joining());
+        assertEquals(expected, output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testCloseClosesChannelOnce() throws IOException {
+        WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+        BufferedIntSink sink = BufferedIntSink.to(channel);
+
+        sink.close();
+        sink.close();
+
+        assertFalse(channel.isOpen());
+        assertThrows(IllegalStateException.class, () -> sink.accept(1));
+        assertThrows(IllegalStateException.class, sink::flush);
+        assertThrows(IllegalArgumentException.class, () -> BufferedIntSink.to(channel));
+        assertThrows(IllegalArgumentException.class,
+                () -> BufferedIntSink.to(Channels.newChannel(new ByteArrayOutputStream()), 4));
+    }
+}
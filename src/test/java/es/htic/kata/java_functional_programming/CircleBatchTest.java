@@ -0,0 +1,79 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Circle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircleBatchTest {
+
+    @Test
+    public void testBatchEnforcesCircleInvariant() {
+        assertThrows(IllegalArgumentException.class, () -> CircleBatch.of(1.0, -0.5, 2.0));
+        assertEquals(3, CircleBatch.of(1.0, 0.0, 2.0).size());
+    }
+
+    @Test
+    public void testBatchIsImmutable() {
+        //given a batch built from an array
+        double[] radii = {1.0, 2.0};
+        CircleBatch batch = CircleBatch.of(radii);
+
+        //when the source array and a returned array are modified
+        radii[0] = 10.0;
+        batch.radii()[1] = 20.0;
+
+        //then the batch is not affected
+        assertEquals(1.0, batch.radius(0));
+        assertEquals(2.0, batch.radius(1));
+        assertThrows(UnsupportedOperationException.class, () -> batch.asList().add(new Circle(3.0)));
+    }
+
+    @Test
+    public void testKernelsMatchPerRecordComputation() {
+        //given the same circles as records and as a batch
+        List<Circle> circles = IntStream.range(0, 1_003)
+                .mapToObj(i -> new Circle(i * 0.5))
+                .collect(Collectors.toList());
+        CircleBatch batch = CircleBatch.copyOf(circles);
+
+        //then the columnar kernels give the same results
+        assertEquals(circles, batch.asList());
+        assertEquals(circles.stream().mapToDouble(c -> Math.PI * c.radius() * c.radius()).sum(), batch.totalArea(), 1e-6);
+        assertEquals(circles.stream().mapToDouble(c -> 2 * Math.PI * c.radius()).sum(), batch.totalPerimeter(), 1e-6);
+        assertEquals(circles.stream().mapToDouble(Circle::radius).sum(), batch.sumRadii(), 1e-6);
+        assertEquals(Math.PI * 4, batch.areas()[4], 1e-9);
+        assertEquals(Math.PI * 4, batch.perimeters()[4], 1e-9);
+    }
+
+    @Test
+    public void testValidateKeepsValidRadiiAndReportsRejectedIndices() {
+        //given radii with some negative values, spanning more than one bitmap word
+        double[] radii = IntStream.range(0, 130).mapToDouble(i -> i % 7 == 0 ? -i - 1 : i).toArray();
+
+        //when validated in bulk
+        CircleBatch.Validated validated = CircleBatch.validate(radii);
+
+        //then valid radii are kept in order and every negative index is reported
+        BitSet expectedRejected = new BitSet();
+        IntStream.range(0, 130).filter(i -> i % 7 == 0).forEach(expectedRejected::set);
+        assertEquals(expectedRejected, validated.rejectedIndices());
+        assertEquals(expectedRejected.cardinality(), validated.rejectedCount());
+        assertArrayEquals(Arrays.stream(radii).filter(r -> r >= 0).toArray(), validated.circles().radii());
+    }
+
+    @Test
+    public void testValidateStream() {
+        CircleBatch.Validated validated = CircleBatch.validate(DoubleStream.of(1.0, 2.0, 3.0));
+
+        assertEquals(0, validated.rejectedCount());
+        assertEquals(CircleBatch.of(1.0, 2.0, 3.0), validated.circles());
+    }
+}
@@ -0,0 +1,110 @@
+package es.htic.kata.java_functional_programming;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CurryTest {
+    private static final int CALLS = 10_000;
+
+    @Test
+    public void testCurryAndPartialForAllArities() {
+        BiFunction<Integer, Integer, Integer> f2 = (a, b) -> a * 10 + b;
+        Curry.Function3<Integer, Integer, Integer, Integer> f3 = (a, b, c) -> (a * 10 + b) * 10 + c;
+        Curry.Function4<Integer, Integer, Integer, Integer, Integer> f4 = (a, b, c, d) -> f3.apply(a, b, c) * 10 + d;
+        Curry.Function5<Integer, Integer, Integer, Integer, Integer, Integer> f5 = (a, b, c, d, e) -> f4.apply(a, b, c, d) * 10 + e;
+        Curry.Function6<Integer, Integer, Integer, Integer, Integer, Integer, Integer> f6 =
+                (a, b, c, d, e, f) -> f5.apply(a, b, c, d, e) * 10 + f;
+
+        assertEquals(12, Curry.curry(f2).apply(1).apply(2));
+        assertEquals(123, Curry.curry(f3).apply(1).apply(2).apply(3));
+        assertEquals(1234, Curry.curry(f4).apply(1).apply(2).apply(3).apply(4));
+        assertEquals(12345, Curry.curry(f5).apply(1).apply(2).apply(3).apply(4).apply(5));
+        assertEquals(123456, Curry.curry(f6).apply(1).apply(2).apply(3).apply(4).apply(5).apply(6));
+        assertEquals(123456, Curry.memoizedCurry(f6, 16).apply(1).apply(2).apply(3).apply(4).apply(5).apply(6));
+
+        assertEquals(12, Curry.partial(f2, 1).apply(2));
+        assertEquals(123, Curry.partial(f3, 1).apply(2, 3));
+        assertEquals(1234, Curry.partial(f4, 1).apply(2, 3, 4));
+        assertEquals(12345, Curry.partial(f5, 1).apply(2, 3, 4, 5));
+        assertEquals(123456, Curry.partial(f6, 1).apply(2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void testMemoizedCurryReusesPartialApplications() {
+        //given a memoized curried function
+        AtomicInteger partialApplications = new AtomicInteger();
+        Curry.Function3<String, String, String, String> join = (a, b, c) -> a + b + c;
+        Function<String, Function<String, Function<String, String>>> curried = Curry.memoizedCurry((a, b, c) -> {
+            partialApplications.incrementAndGet();
+            return join.apply(a, b, c);
+        }, 8);
+
+        //when the same leading arguments are applied twice
+        Function<String, String> first = curried.apply("a").apply("b");
+        Function<String, String> second = curried.apply("a").apply("b");
+
+        //then the same partial application is returned
+        assertSame(first, second);
+        assertNotSame(first, curried.apply("a").apply("c"));
+        assertEquals("abc", first.apply("c"));
+        assertEquals(1, partialApplications.get());
+    }
+
+    @Test
+    public void testMemoizedCurryDoesNotAllocatePerCall() {
+        //given a memoized curried function already applied once with its leading argument
+        Function<Integer, Function<Integer, Integer>> add = Curry.memoizedCurry((a, b) -> a + b, 16);
+        add.apply(3).apply(4);
+
+        //when called many times with small (cached) boxed values
+        int[] sum = new int[1];
+        long allocated = allocatedBytes(() -> {
+            for (int i = 0; i < CALLS; i++) {
+                sum[0] += add.apply(3).apply(4);
+            }
+        });
+
+        //then no call allocated: less than one byte per call, allowing a constant measurement overhead
+        assertEquals(7 * CALLS, sum[0]);
+        assertTrue(allocated < CALLS, "Allocated " + allocated + " bytes in " + CALLS + " calls");
+    }
+
+    @Test
+    public void testPrimitiveCurryDoesNotAllocateForSmallArguments() {
+        IntFunction<IntUnaryOperator> add = Curry.curryInt(Integer::sum);
+        assertSame(add.apply(5), add.apply(5));
+        assertSame(add.apply(Curry.SMALL_HIGH), add.apply(Curry.SMALL_HIGH));
+        assertNotSame(add.apply(Curry.SMALL_HIGH + 1), add.apply(Curry.SMALL_HIGH + 1));
+
+        int[] sum = new int[1];
+        long allocated = allocatedBytes(() -> {
+            for (int i = 0; i < CALLS; i++) {
+                sum[0] += add.apply(5).applyAsInt(i);
+            }
+        });
+
+        assertEquals(5 * CALLS + CALLS * (CALLS - 1) / 2, sum[0]);
+        assertTrue(allocated < CALLS, "Allocated " + allocated + " bytes in " + CALLS + " calls");
+        assertEquals(-6, Curry.curryLong((a, b) -> a - b).apply(-1).applyAsLong(5));
+        assertEquals(2.5, Curry.curryDouble((a, b) -> a / b).apply(5).applyAsDouble(2));
+    }
+
+    private static long allocatedBytes(Runnable calls) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        calls.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+}
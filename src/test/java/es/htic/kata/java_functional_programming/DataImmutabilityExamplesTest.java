@@ -0,0 +1,138 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Address;
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.AddressAsRecord;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataImmutabilityExamplesTest {
+
+    private static final Address ADDRESS = Address.of("Gran Via", "Madrid");
+
+    @Test
+    public void testCompactServesBothGettersFromOneList() {
+        DataImmutabilityExamples examples = DataImmutabilityExamples.compact(List.of("a", "b", "c"), ADDRESS);
+
+        assertEquals(List.of("a", "b", "c"), examples.getItems());
+        assertSame(examples.getImmutableItems(), examples.getItems());
+        assertThrows(UnsupportedOperationException.class, () -> examples.getItems().add("d"));
+    }
+
+    @Test
+    public void testCompactRetainsLessHeapThanDefaultConstruction() {
+        //given the same items
+        List<String> items = IntStream.range(0, 10_000)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList());
+
+        //when measuring the retained object graph of both construction modes
+        long defaultFootprint = GraphLayout.parseInstance(new DataImmutabilityExamples(items, ADDRESS)).totalSize();
+        long compactFootprint = GraphLayout.parseInstance(DataImmutabilityExamples.compact(items, ADDRESS)).totalSize();
+
+        //then the compact mode saves at least one reference per item (the second backing array)
+        assertTrue(compactFootprint < defaultFootprint, compactFootprint + " >= " + defaultFootprint);
+        assertTrue(defaultFootprint - compactFootprint >= 4L * items.size(),
+                "saved only " + (defaultFootprint - compactFootprint) + " bytes");
+    }
+
+    @Test
+    public void testEqualAddressesShareOneInstance() {
+        //given addresses built from different but equal strings
+        Address address = Address.of(new String("Gran Via"), new String("Madrid"));
+        AddressAsRecord record = AddressAsRecord.of(new String("Gran Via"), new String("Madrid"));
+
+        //then they are canonicalized, including their strings
+        assertSame(ADDRESS, address);
+        assertSame(AddressAsRecord.of("Gran Via", "Madrid"), record);
+        assertSame(ADDRESS.getStreet(), record.street());
+        assertSame(Address.of(null, null), Address.of(null, null));
+    }
+
+    @Test
+    public void testGetAddressDoesNotCopy() {
+        DataImmutabilityExamples examples = new DataImmutabilityExamples(List.of("a"), Address.of("Gran Via", "Madrid"));
+
+        assertSame(ADDRESS, examples.getAddress());
+        assertSame(examples.getAddress(), examples.getAddress());
+    }
+
+    @Test
+    public void testAddressHashCodeIsCompatibleWithObjectsHash() {
+        assertEquals(Objects.hash("Gran Via", "Madrid"), ADDRESS.hashCode());
+        assertEquals(ADDRESS.hashCode(), ADDRESS.hashCode());
+        assertEquals(Objects.hash(null, null), Address.of(null, null).hashCode());
+    }
+
+    @Test
+    public void testTrustedImmutableItemsAreNotCopied() {
+        //given immutable lists
+        List<String> items = List.of("a", "b");
+        PersistentVector<String> persistentItems = PersistentVector.of("a", "b");
+
+        //when they are passed to the list constructor
+        DataImmutabilityExamples fromList = new DataImmutabilityExamples(items, ADDRESS);
+        DataImmutabilityExamples fromPersistent = new DataImmutabilityExamples(persistentItems, ADDRESS);
+
+        //then they are shared as immutable items, and getItems still returns a mutable copy
+        assertSame(items, fromList.getImmutableItems());
+        assertSame(persistentItems, fromPersistent.getImmutableItems());
+        assertNotSame(items, fromList.getItems());
+        fromList.getItems().add("c");
+        assertEquals(List.of("a", "b"), fromList.getItems());
+        assertEquals(List.of("a", "b"), fromPersistent.getItems());
+        assertSame(persistentItems, DataImmutabilityExamples.persistent(persistentItems, ADDRESS).getItems());
+    }
+
+    @Test
+    public void testMutableItemsAreStillCopied() {
+        //given a mutable list and an unmodifiable view over it
+        List<String> items = new ArrayList<>(List.of("a", "b"));
+        DataImmutabilityExamples fromMutable = new DataImmutabilityExamples(items, ADDRESS);
+        DataImmutabilityExamples fromView = new DataImmutabilityExamples(Collections.unmodifiableList(items), ADDRESS);
+
+        //when the original list changes
+        items.add("c");
+
+        //then neither instance sees the change, and getItems still returns a copy
+        assertEquals(List.of("a", "b"), fromMutable.getImmutableItems());
+        assertEquals(List.of("a", "b"), fromView.getImmutableItems());
+        assertNotSame(fromMutable.getItems(), fromMutable.getItems());
+        fromMutable.getItems().add("d");
+        assertEquals(List.of("a", "b"), fromMutable.getItems());
+    }
+
+    @Test
+    public void testBuilderAppliesBatchOfEditsIntoNewInstance() {
+        //given an instance
+        DataImmutabilityExamples original = new DataImmutabilityExamples(List.of("a", "b"), ADDRESS);
+
+        //when a batch of edits is built into a new instance
+        DataImmutabilityExamples.Builder builder = original.toBuilder()
+                .set(0, "z")
+                .add("c")
+                .address(Address.of("Calle Mayor", "Salamanca"));
+        DataImmutabilityExamples edited = builder.build();
+
+        //then only the new instance has the edits, and the builder cannot be reused
+        assertEquals(List.of("z", "b", "c"), edited.getItems());
+        assertEquals(Address.of("Calle Mayor", "Salamanca"), edited.getAddress());
+        assertEquals(List.of("a", "b"), original.getItems());
+        assertSame(ADDRESS, original.getAddress());
+        assertThrows(IllegalStateException.class, () -> builder.add("d"));
+        assertThrows(IllegalStateException.class, () -> builder.address(ADDRESS));
+        assertThrows(IllegalStateException.class, builder::build);
+        assertEquals(List.of("z", "b", "c"), edited.getItems());
+        assertInstanceOf(PersistentVector.class, edited.getImmutableItems());
+        edited.getItems().add("d"); // Same contract as the public constructor: a mutable copy
+        assertEquals(List.of("z", "b", "c"), edited.getItems());
+    }
+}
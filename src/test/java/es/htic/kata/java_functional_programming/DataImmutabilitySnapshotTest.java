@@ -0,0 +1,113 @@
+package es.htic.kata.java_functional_programming;
+
+import es.htic.kata.java_functional_programming.DataImmutabilityExamples.Address;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataImmutabilitySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        //given examples with more items than the write buffer holds
+        List<String> items = IntStream.range(0, 20_000)
+                .mapToObj(i -> "item-\u00f1-" + i)
+                .collect(Collectors.toList());
+        DataImmutabilityExamples examples = new DataImmutabilityExamples(items, Address.of("Gran V\u00eda", "Madrid"));
+        Path file = directory.resolve("examples.snapshot");
+
+        //when written and read back
+        DataImmutabilitySnapshot.write(examples, file);
+        DataImmutabilityExamples loaded = DataImmutabilitySnapshot.read(file);
+
+        //then items and address are the same, served as an immutable view over the mapped file
+        assertEquals(items, loaded.getItems());
+        assertSame(examples.getAddress(), loaded.getAddress());
+        assertThrows(UnsupportedOperationException.class, () -> loaded.getItems().add("new"));
+    }
+
+    @Test
+    public void testSnapshotWithoutItemsAndNullCity() throws IOException {
+        Path file = directory.resolve("empty.snapshot");
+        DataImmutabilitySnapshot.write(new DataImmutabilityExamples(List.of(), Address.of("Gran Via", null)), file);
+
+        DataImmutabilityExamples loaded = DataImmutabilitySnapshot.read(file);
+
+        assertEquals(List.of(), loaded.getItems());
+        assertNull(loaded.getAddress().getCity());
+    }
+
+    @Test
+    public void testReadRejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(directory.resolve("examples.json"), "{\"items\": []}");
+
+        assertThrows(IOException.class, () -> DataImmutabilitySnapshot.read(file));
+    }
+
+    @Test
+    public void testReadRejectsTruncatedFiles() throws IOException {
+        //given a valid snapshot
+        Path file = directory.resolve("examples.snapshot");
+        DataImmutabilitySnapshot.write(new DataImmutabilityExamples(List.of("a", "b", "c"), Address.of("Gran Via", "Madrid")), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        //when it is cut inside the offsets table, the data and the address
+        for (int length : new int[]{bytes.length - 1, bytes.length - 20, 20, 17}) {
+            Path truncated = Files.write(directory.resolve("truncated-" + length + ".snapshot"), Arrays.copyOf(bytes, length));
+
+            //then reading it fails with an IOException
+            assertThrows(IOException.class, () -> DataImmutabilitySnapshot.read(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    public void testReadRejectsCorruptOffsets() throws IOException {
+        //given a valid snapshot, ending with the offsets 0, 1, 2 and 3
+        Path file = directory.resolve("examples.snapshot");
+        DataImmutabilitySnapshot.write(new DataImmutabilityExamples(List.of("a", "b", "c"), Address.of("Gran Via", "Madrid")), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        //when an offset decreases, or the last one goes past the data
+        for (int[] corruption : new int[][]{{2, 0}, {3, 10}}) {
+            byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt).putInt(corrupt.length - (4 - corruption[0]) * Integer.BYTES, corruption[1]);
+            Path corruptFile = Files.write(directory.resolve("corrupt-" + corruption[0] + ".snapshot"), corrupt);
+
+            //then reading it fails with an IOException
+            assertThrows(IOException.class, () -> DataImmutabilitySnapshot.read(corruptFile), "offset " + corruption[0]);
+        }
+    }
+
+    @Test
+    public void testFailedWriteKeepsPreviousSnapshot() throws IOException {
+        //given a snapshot already written
+        Path file = directory.resolve("examples.snapshot");
+        DataImmutabilitySnapshot.write(new DataImmutabilityExamples(List.of("a", "b"), Address.of("Gran Via", "Madrid")), file);
+
+        //when overwriting it with an item that cannot be encoded as UTF-8
+        DataImmutabilityExamples unencodable = new DataImmutabilityExamples(List.of("a", "\uD800"), Address.of("Gran Via", "Madrid"));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> DataImmutabilitySnapshot.write(unencodable, file));
+
+        //then the item is named, and the previous snapshot is still there, without temporary files left behind
+        assertTrue(exception.getMessage().contains("Item 1"), exception.getMessage());
+        assertEquals(List.of("a", "b"), DataImmutabilitySnapshot.read(file).getItems());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()));
+        }
+    }
+}
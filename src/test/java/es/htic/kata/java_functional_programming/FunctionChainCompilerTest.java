@@ -0,0 +1,47 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import static es.htic.kata.java_functional_programming.FunctionChain.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FunctionChainCompilerTest {
+
+    @Test
+    public void testCompiledChainGivesSameResults() {
+        //given a chain mixing known and opaque stages
+        FunctionChain chain = FunctionChain.of(
+                multiply(2), square(),
+                add(3), multiply(-5), clamp(-1_000, 1_000_000),
+                x -> x ^ 0x5555, add(1));
+
+        //when compiled
+        IntUnaryOperator compiled = FunctionChainCompiler.compile(chain);
+
+        //then it is a single hidden class giving the same results as interpretation
+        assertTrue(compiled.getClass().isHidden());
+        IntStream.of(0, 1, -1, 5, 42, 65_537, Integer.MAX_VALUE, Integer.MIN_VALUE)
+                .forEach(x -> assertEquals(chain.applyAsInt(x), compiled.applyAsInt(x)));
+    }
+
+    @Test
+    public void testCompileSquareComposeDouble() {
+        IntUnaryOperator squareComposeDouble = FunctionChainCompiler.compile(FunctionChain.of(square()).compose(multiply(2)));
+
+        assertEquals(100, squareComposeDouble.applyAsInt(5));
+        assertEquals(7, FunctionChainCompiler.compile(FunctionChain.identity()).applyAsInt(7));
+        assertEquals(8, FunctionChainCompiler.compile(x -> x + 1).applyAsInt(7));
+    }
+
+    @Test
+    public void testOpaqueStageExceptionsPropagate() {
+        IntUnaryOperator compiled = FunctionChainCompiler.compile(FunctionChain.of(add(1), x -> 10 / x));
+
+        assertEquals(5, compiled.applyAsInt(1));
+        assertThrows(ArithmeticException.class, () -> compiled.applyAsInt(-1));
+        assertThrows(IllegalArgumentException.class, () -> clamp(1, 0));
+    }
+}
@@ -0,0 +1,65 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import static es.htic.kata.java_functional_programming.FunctionChain.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FunctionChainTest {
+
+    @Test
+    public void testChainMatchesNestedComposition() {
+        Function<Integer, Integer> squareFunction = x -> x * x;
+        Function<Integer, Integer> doubleFunction = x -> x * 2;
+
+        FunctionChain squareThenDouble = FunctionChain.ofBoxed(squareFunction).andThen(x -> x * 2);
+        FunctionChain doubleThenSquare = FunctionChain.of(square()).compose(multiply(2));
+
+        assertEquals(squareFunction.andThen(doubleFunction).apply(5), squareThenDouble.applyAsInt(5));
+        assertEquals(squareFunction.compose(doubleFunction).apply(5), doubleThenSquare.applyAsInt(5));
+        assertEquals(50, squareThenDouble.boxed().apply(5));
+        assertEquals(5, FunctionChain.identity().applyAsInt(5));
+    }
+
+    @Test
+    public void testNestedChainsAreFlattened() {
+        FunctionChain inner = FunctionChain.of(add(1), add(2));
+
+        FunctionChain outer = FunctionChain.of(multiply(2), inner).andThen(inner);
+
+        assertEquals(5, outer.length());
+        assertEquals(5 * 2 + 3 + 3, outer.applyAsInt(5));
+    }
+
+    @Test
+    public void testDeepChainDoesNotGrowTheStack() {
+        IntUnaryOperator[] stages = IntStream.range(0, 100_000)
+                .mapToObj(i -> (IntUnaryOperator) x -> x + 1)
+                .toArray(IntUnaryOperator[]::new);
+
+        assertEquals(100_000, FunctionChain.of(stages).applyAsInt(0));
+    }
+
+    @Test
+    public void testFusedChainGivesSameResults() {
+        //given a chain mixing arithmetic, square and opaque stages
+        FunctionChain chain = FunctionChain.of(
+                multiply(3), add(1), multiply(-7), add(Integer.MAX_VALUE),
+                square(),
+                add(5), multiply(2),
+                x -> x ^ 0x5555,
+                add(1), add(1));
+
+        //when fused
+        FunctionChain fused = chain.fused();
+
+        //then adjacent arithmetic stages are merged and results (including overflow) are unchanged
+        assertEquals(5, fused.length());
+        IntStream.of(0, 1, -1, 42, 65_537, Integer.MAX_VALUE, Integer.MIN_VALUE)
+                .forEach(x -> assertEquals(chain.applyAsInt(x), fused.applyAsInt(x)));
+    }
+}
@@ -0,0 +1,93 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationTest {
+
+    @Test
+    public void testStagesCountCallsAndFailures() {
+        //given instrumented stages of a stream pipeline
+        Instrumentation instrumentation = Instrumentation.timingAll();
+        Predicate<Integer> isEven = instrumentation.predicate("isEven", n -> n % 2 == 0);
+        Function<Integer, Integer> square = instrumentation.function("square", n -> n * n);
+        List<Integer> sink = new ArrayList<>();
+        Consumer<Integer> collect = instrumentation.consumer("collect", sink::add);
+        Supplier<Integer> failing = instrumentation.supplier("failing", () -> {
+            throw new IllegalStateException();
+        });
+
+        //when the pipeline runs
+        IntStream.rangeClosed(1, 100).boxed().filter(isEven).map(square).forEach(collect);
+        assertThrows(IllegalStateException.class, failing::get);
+
+        //then every stage counted its calls, all timed
+        Instrumentation.Snapshot snapshot = instrumentation.snapshot();
+        assertEquals(List.of("collect", "failing", "isEven", "square"),
+                snapshot.stages().stream().map(Instrumentation.StageSnapshot::name).collect(Collectors.toList()));
+        assertStage(snapshot.stages().get(0), 50, 0);
+        assertStage(snapshot.stages().get(1), 1, 1);
+        assertStage(snapshot.stages().get(2), 100, 0);
+        assertStage(snapshot.stages().get(3), 50, 0);
+        assertEquals(50, sink.size());
+    }
+
+    @Test
+    public void testSampledTiming() {
+        //given a stage timing one call in 8
+        Instrumentation instrumentation = Instrumentation.sampledEvery(8);
+        Function<Integer, Integer> increment = instrumentation.function("increment", n -> n + 1);
+
+        //when called many times
+        IntStream.range(0, 80_000).forEach(increment::apply);
+
+        //then about one in 8 is timed, and the number of calls is estimated from them
+        Instrumentation.StageSnapshot stage = instrumentation.snapshot().stages().get(0);
+        assertEquals(10_000, stage.latencies().count(), 1_000);
+        assertEquals(8 * stage.latencies().count(), stage.calls());
+    }
+
+    @Test
+    public void testSameNameSharesStageAndReset() {
+        Instrumentation instrumentation = Instrumentation.sampledEvery(1);
+        instrumentation.supplier("answer", () -> 42).get();
+        instrumentation.supplier("answer", () -> 43).get();
+
+        assertEquals(2, instrumentation.snapshot().stages().get(0).calls());
+
+        instrumentation.reset();
+
+        assertEquals(0, instrumentation.snapshot().stages().get(0).calls());
+        assertThrows(IllegalArgumentException.class, () -> Instrumentation.sampledEvery(3));
+    }
+
+    @Test
+    public void testTextSnapshot() {
+        Instrumentation instrumentation = Instrumentation.timingAll();
+        instrumentation.function("toUpperCase", (String s) -> s.toUpperCase()).apply("text");
+
+        String[] lines = instrumentation.snapshot().toText().split(System.lineSeparator());
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("stage"));
+        assertTrue(lines[0].contains("p99.9"));
+        assertTrue(lines[1].startsWith("toUpperCase"));
+        assertTrue(lines[1].matches("toUpperCase\\s+1\\s+0\\s+1\\s.*"), lines[1]);
+    }
+
+    private static void assertStage(Instrumentation.StageSnapshot stage, long calls, long failures) {
+        assertEquals(calls, stage.calls(), stage.name());
+        assertEquals(failures, stage.failures(), stage.name());
+        assertEquals(calls, stage.latencies().count(), stage.name());
+    }
+}
@@ -0,0 +1,60 @@
+package es.htic.kata.java_functional_programming;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class IntListTest {
+
+    @Test
+    public void testFactoriesAndAccess() {
+        int[] values = {3, 1, 2};
+        IntList list = IntList.of(values);
+        values[0] = 99;
+
+        assertEquals(3, list.size());
+        assertEquals(3, list.get(0));
+        assertEquals(IntList.of(3, 1, 2), IntList.copyOf(List.of(3, 1, 2)));
+        assertEquals(IntList.of(-2, -1, 0, 1), IntList.range(-2, 2));
+        assertTrue(IntList.range(5, 5).isEmpty());
+        assertEquals("[3, 1, 2]", list.toString());
+        assertEquals(List.of(3, 1, 2), list.asList());
+        assertEquals(6, list.stream().sum());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> list.asList().add(4));
+    }
+
+    @Test
+    public void testToArrayIsACopy() {
+        IntList list = IntList.of(1, 2);
+
+        list.toArray()[0] = 99;
+
+        assertEquals(1, list.get(0));
+    }
+
+    @Test
+    public void testForEachAllocatesNothingPerElement() {
+        //given a large list and a consumer
+        IntList list = IntList.range(1_000, 1_001_000);
+        long[] sum = new long[1];
+        list.forEach(value -> sum[0] += value);
+
+        //when every element is consumed
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        list.forEach(value -> sum[0] += value);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        //then less than one byte was allocated per element, where boxing would take 16
+        assertEquals(2 * (1_000_000L * 1_000 + 1_000_000L * 999_999 / 2), sum[0]);
+        assertTrue(allocated < list.size(), "Allocated " + allocated + " bytes");
+    }
+}
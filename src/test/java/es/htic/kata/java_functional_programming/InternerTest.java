@@ -0,0 +1,40 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InternerTest {
+
+    @Test
+    public void testInternReturnsFirstRegisteredInstance() {
+        Interner<List<Integer>> interner = new Interner<>();
+        List<Integer> first = List.of(1, 2, 3);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(List.of(1, 2, 3)));
+        assertNotSame(first, interner.intern(List.of(3, 2, 1)));
+        assertEquals(2, interner.size());
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+    }
+
+    @Test
+    public void testConcurrentInternAgreesOnOneInstance() {
+        //given many threads interning equal values at the same time
+        Interner<String> interner = new Interner<>();
+
+        //when each of them interns its own copy
+        List<String> results = IntStream.range(0, 10_000)
+                .parallel()
+                .mapToObj(i -> interner.intern(new String("value-" + (i % 10))))
+                .collect(Collectors.toList());
+
+        //then only one instance per distinct value is ever returned
+        results.forEach(value -> assertSame(interner.intern(new String(value)), value));
+        assertEquals(10, interner.size());
+    }
+}
@@ -0,0 +1,55 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsAreContiguousAndWithinPrecision() {
+        for (long value = 0; value < 1 << 16; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "value " + value);
+            assertTrue(index == 0 || value > LatencyHistogram.bucketUpperBound(index - 1), "value " + value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) <= value * 1.25 + 1, "value " + value);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        //given latencies from 1 to 10,000 ns
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 10_000).forEach(histogram::record);
+
+        //when a snapshot is taken
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        //then percentiles are known within the bucket precision
+        assertEquals(10_000, snapshot.count());
+        assertEquals(5_000.5, snapshot.mean());
+        assertEquals(10_000, snapshot.max());
+        assertEquals(5_000, snapshot.percentile(50), 5_000 * 0.25);
+        assertEquals(9_900, snapshot.percentile(99), 9_900 * 0.25);
+        assertEquals(10_000, snapshot.percentile(100));
+        assertEquals(1, snapshot.percentile(0));
+    }
+
+    @Test
+    public void testOutOfRangeValuesAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.snapshot().count());
+        assertEquals(Long.MAX_VALUE, histogram.snapshot().percentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.snapshot().percentile(101));
+
+        histogram.reset();
+
+        assertEquals(0, histogram.snapshot().count());
+        assertEquals(0, histogram.snapshot().percentile(99));
+    }
+}
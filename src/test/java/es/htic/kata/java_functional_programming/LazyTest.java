@@ -0,0 +1,129 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTest {
+
+    @Test
+    public void testEvaluatedOnceAcrossThreads() throws Exception {
+        //given a lazy value counting its evaluations
+        AtomicInteger evaluations = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            evaluations.incrementAndGet();
+            return "value";
+        });
+        assertFalse(lazy.isEvaluated());
+
+        //when many threads ask for it at the same time
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = IntStream.range(0, threads)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return lazy.get();
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            //then all get the same value, computed once
+            for (Future<String> result : results) {
+                assertSame("value", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, evaluations.get());
+        assertTrue(lazy.isEvaluated());
+    }
+
+    @Test
+    public void testSupplierIsReleasedAfterEvaluation() throws InterruptedException {
+        //given a lazy value whose supplier captures a large object
+        byte[] captured = new byte[1024 * 1024];
+        WeakReference<byte[]> reference = new WeakReference<>(captured);
+        Lazy<Integer> lazy = lazyLength(captured);
+        captured = null;
+
+        //when evaluated
+        assertEquals(1024 * 1024, lazy.get());
+
+        //then the captured object can be collected while the lazy value is still reachable
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+        assertEquals(1024 * 1024, lazy.get());
+    }
+
+    @Test
+    public void testMapAndFlatMapDoNotForce() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Lazy<Integer> lazy = Lazy.of(() -> evaluations.incrementAndGet() * 10);
+
+        Lazy<Integer> mapped = lazy.map(x -> x + 1);
+        Lazy<String> flatMapped = mapped.flatMap(x -> Lazy.of(() -> "#" + x));
+
+        assertEquals(0, evaluations.get());
+        assertEquals("Lazy[not evaluated]", flatMapped.toString());
+        assertEquals("#11", flatMapped.get());
+        assertEquals(11, mapped.get());
+        assertEquals("Lazy[10]", lazy.toString());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void testFailedEvaluationIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt");
+            }
+            return null;
+        });
+
+        assertThrows(IllegalStateException.class, lazy::get);
+        assertFalse(lazy.isEvaluated());
+        assertNull(lazy.get());
+        assertNull(lazy.get());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecursiveEvaluationFails() {
+        Supplier<Integer>[] self = new Supplier[1];
+        Lazy<Integer> lazy = Lazy.of(() -> self[0].get() + 1);
+        self[0] = lazy;
+
+        assertThrows(IllegalStateException.class, lazy::get);
+    }
+
+    @Test
+    public void testOfAndValue() {
+        Lazy<String> lazy = Lazy.value("ready");
+
+        assertTrue(lazy.isEvaluated());
+        assertEquals("ready", lazy.get());
+        assertSame(lazy, Lazy.of(lazy));
+    }
+
+    private static Lazy<Integer> lazyLength(byte[] bytes) {
+        return Lazy.of(() -> bytes.length);
+    }
+}
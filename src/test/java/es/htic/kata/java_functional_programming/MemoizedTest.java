@@ -0,0 +1,118 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoizedTest {
+
+    @Test
+    public void testResultsAreComputedOnce() {
+        //given an expensive function counting its calls
+        AtomicInteger calls = new AtomicInteger();
+        Memoized<Integer, Integer> square = Memoized.of(x -> {
+            calls.incrementAndGet();
+            return x * x;
+        });
+
+        //when called repeatedly with the same inputs
+        IntStream.range(0, 10).forEach(i -> assertEquals(25, square.apply(5)));
+        assertEquals(36, square.apply(6));
+
+        //then each input was computed once
+        assertEquals(2, calls.get());
+        assertEquals(new Memoized.Stats(9, 2, 0, 0), square.stats());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecursiveMemoizedFunction() {
+        //a recursive definition would fail with ConcurrentHashMap.computeIfAbsent
+        Function<Integer, BigInteger>[] fibonacci = new Function[1];
+        fibonacci[0] = Memoized.of(n -> n < 2
+                ? BigInteger.valueOf(n)
+                : fibonacci[0].apply(n - 1).add(fibonacci[0].apply(n - 2)));
+
+        assertEquals(new BigInteger("354224848179261915075"), fibonacci[0].apply(100));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        AtomicInteger calls = new AtomicInteger();
+        Memoized<Integer, Integer> identity = Memoized.builder()
+                .maximumSize(2)
+                .concurrencyLevel(1)
+                .build(x -> {
+                    calls.incrementAndGet();
+                    return x;
+                });
+
+        identity.apply(1);
+        identity.apply(2);
+        identity.apply(1); // 2 is now the least recently used
+        identity.apply(3);
+        identity.apply(1);
+
+        assertEquals(3, calls.get());
+        assertEquals(2, identity.size());
+        assertEquals(1, identity.stats().evictions());
+        identity.apply(2);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testSizeNeverExceedsMaximumSize() {
+        //given a maximum size that is not a multiple of the number of segments
+        Memoized<Integer, Integer> identity = Memoized.builder().maximumSize(10).concurrencyLevel(8).build(x -> x);
+
+        //when many more distinct keys than the maximum size are cached
+        long maximumSeen = 0;
+        for (int i = 0; i < 1_000; i++) {
+            identity.apply(i);
+            maximumSeen = Math.max(maximumSeen, identity.size());
+        }
+
+        //then the size was always within the bound, and reached it
+        assertEquals(10, maximumSeen);
+    }
+
+    @Test
+    public void testEntriesExpireAfterWrite() {
+        AtomicLong now = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        Memoized<String, Integer> length = Memoized.builder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(now::get)
+                .build(s -> {
+                    calls.incrementAndGet();
+                    return s.length();
+                });
+
+        length.apply("functional");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        length.apply("functional");
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        length.apply("functional");
+
+        assertEquals(2, calls.get());
+        assertEquals(1, length.stats().expirations());
+    }
+
+    @Test
+    public void testConcurrentCallsStayWithinBounds() {
+        Memoized<Integer, Integer> doubled = Memoized.builder().maximumSize(1_000).concurrencyLevel(8).build(x -> x * 2);
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> assertEquals(2 * (i % 5_000), doubled.apply(i % 5_000)));
+
+        assertTrue(doubled.size() <= 1_000, "size " + doubled.size());
+        Memoized.Stats stats = doubled.stats();
+        assertEquals(100_000, stats.hits() + stats.misses());
+    }
+}
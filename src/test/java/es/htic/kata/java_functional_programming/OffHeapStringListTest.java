@@ -0,0 +1,73 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapStringListTest {
+
+    @Test
+    public void testCopyOfKeepsAllStrings() {
+        //given strings with multi-byte characters and more text than the initial buffer estimate
+        List<String> items = IntStream.range(0, 5_000)
+                .mapToObj(i -> i % 3 == 0 ? "Salamanca-" + i : "\u00d1and\u00fa \ud83d\ude00 " + i)
+                .collect(Collectors.toList());
+        items.add("");
+
+        //when copied off heap
+        OffHeapStringList offHeap = OffHeapStringList.copyOf(items);
+
+        //then they are decoded back unchanged
+        assertEquals(items.size(), offHeap.size());
+        assertEquals(items, offHeap);
+        assertEquals("", offHeap.get(items.size() - 1));
+        assertEquals(0, OffHeapStringList.copyOf(List.of()).size());
+    }
+
+    @Test
+    public void testOffHeapStringListIsImmutable() {
+        List<String> items = new ArrayList<>(List.of("a", "b"));
+        OffHeapStringList offHeap = OffHeapStringList.copyOf(items);
+        items.add("c");
+
+        assertEquals(List.of("a", "b"), offHeap);
+        assertThrows(UnsupportedOperationException.class, () -> offHeap.add("c"));
+        assertThrows(IndexOutOfBoundsException.class, () -> offHeap.get(2));
+        assertThrows(NullPointerException.class, () -> OffHeapStringList.copyOf(Arrays.asList("a", null)));
+    }
+
+    @Test
+    public void testCopyOfRejectsUnpairedSurrogates() {
+        //a valid Java string, but not encodable as UTF-8: replacing it would lose data
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> OffHeapStringList.copyOf(List.of("a", "\uD800")));
+
+        assertTrue(exception.getMessage().contains("Item 1"), exception.getMessage());
+    }
+
+    @Test
+    public void testCopyOfRejectsMoreThan2GiB() {
+        //given more strings than offsets fit in 2 GiB
+        List<String> items = Collections.nCopies(Integer.MAX_VALUE / 2, "a");
+
+        //then copying them fails upfront instead of overflowing the buffer capacity
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> OffHeapStringList.copyOf(items));
+        assertTrue(exception.getMessage().startsWith("Encoded items exceed"), exception.getMessage());
+    }
+
+    @Test
+    public void testDataImmutabilityExamplesKeepsOffHeapItems() {
+        OffHeapStringList items = OffHeapStringList.copyOf(List.of("a", "b"));
+        DataImmutabilityExamples examples = DataImmutabilityExamples.offHeap(items, DataImmutabilityExamples.Address.of("Gran Via", "Madrid"));
+
+        assertSame(items, examples.getItems());
+        assertSame(items, examples.getImmutableItems());
+    }
+}
@@ -0,0 +1,123 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentVectorTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 31, 32, 33, 1024, 1056, 1057, 33_000, 40_000})
+    public void testAppendKeepsPreviousVersions(int size) {
+        //given a vector built by appending one element at a time
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            versions.add(vector);
+            vector = vector.append(i);
+        }
+
+        //then every element is reachable and every previous version is left untouched
+        assertEquals(IntStream.range(0, size).boxed().collect(Collectors.toList()), vector);
+        for (int i = 0; i < versions.size(); i += 997) {
+            assertEquals(i, versions.get(i).size());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 32, 33, 1056, 1057, 40_000})
+    public void testCopyOfIsEquivalentToAppending(int size) {
+        List<Integer> numbers = IntStream.range(0, size).boxed().collect(Collectors.toList());
+
+        PersistentVector<Integer> vector = PersistentVector.copyOf(numbers);
+        assertEquals(numbers, vector);
+
+        //appending after a bulk copy keeps the trie consistent
+        PersistentVector<Integer> appended = vector.append(size);
+        assertEquals(size + 1, appended.size());
+        assertEquals(size, appended.get(size));
+        assertEquals(size - 1, appended.get(size - 1));
+    }
+
+    @Test
+    public void testWithReturnsNewVersion() {
+        //given a vector bigger than a single tail
+        PersistentVector<String> original = PersistentVector.copyOf(
+                IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList()));
+
+        //when elements in the trie and in the tail are replaced
+        PersistentVector<String> updated = original.with(5, "five").with(99, "ninety-nine");
+
+        //then only the new version sees the changes
+        assertEquals("five", updated.get(5));
+        assertEquals("ninety-nine", updated.get(99));
+        assertEquals("5", original.get(5));
+        assertEquals("99", original.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> original.with(100, "out"));
+    }
+
+    @Test
+    public void testPersistentVectorIsImmutable() {
+        PersistentVector<Integer> vector = PersistentVector.of(1, 2, 3);
+
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, 4));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+        assertThrows(NullPointerException.class, () -> vector.append(null));
+        assertEquals(List.of(1, 2, 3), vector);
+    }
+
+    @Test
+    public void testDataImmutabilityExamplesReturnsPersistentItemsWithoutCopying() {
+        PersistentVector<String> items = PersistentVector.of("a", "b", "c");
+        DataImmutabilityExamples examples = DataImmutabilityExamples.persistent(items, DataImmutabilityExamples.Address.of("Gran Via", "Madrid"));
+
+        assertSame(items, examples.getItems());
+        assertSame(items, examples.getImmutableItems());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 31, 32, 1056, 40_000})
+    public void testTransientEditsDoNotLeakIntoSourceVector(int size) {
+        //given a vector and a transient created from it
+        PersistentVector<Integer> original = PersistentVector.copyOf(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+        PersistentVector.Transient<Integer> editable = original.asTransient();
+
+        //when a batch of edits is applied in place and frozen
+        for (int i = 0; i < 2_000; i++) {
+            editable.append(size + i);
+        }
+        for (int i = 0; i < size + 2_000; i += 3) {
+            editable.set(i, -i);
+        }
+        PersistentVector<Integer> edited = editable.freeze();
+
+        //then the new version has all edits and the original is untouched
+        assertEquals(IntStream.range(0, size + 2_000).map(i -> i % 3 == 0 ? -i : i).boxed().collect(Collectors.toList()), edited);
+        assertEquals(IntStream.range(0, size).boxed().collect(Collectors.toList()), original);
+        assertEquals(edited.append(0).size(), edited.size() + 1);
+    }
+
+    @Test
+    public void testFrozenVectorCannotBeMutatedThroughTransient() {
+        PersistentVector.Transient<String> editable = PersistentVector.<String>empty().asTransient().append("a");
+        PersistentVector<String> frozen = editable.freeze();
+
+        assertThrows(IllegalStateException.class, () -> editable.append("b"));
+        assertThrows(IllegalStateException.class, () -> editable.set(0, "b"));
+        assertThrows(IllegalStateException.class, editable::freeze);
+        assertEquals(List.of("a"), frozen);
+
+        //a new transient from the frozen vector copies the nodes it touches
+        PersistentVector<String> edited = frozen.asTransient().set(0, "b").freeze();
+        assertEquals(List.of("a"), frozen);
+        assertEquals(List.of("b"), edited);
+    }
+}
@@ -0,0 +1,47 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveFunctionsTest {
+
+    @Test
+    public void testPrimitiveChainsMatchBoxedComposition() {
+        Function<Integer, Integer> squareFunction = x -> x * x;
+        Function<Integer, Integer> doubleFunction = x -> x * 2;
+        IntUnaryOperator squareThenDouble = PrimitiveFunctions.intChain(x -> x * x, x -> x * 2);
+
+        assertEquals(squareFunction.andThen(doubleFunction).apply(5), squareThenDouble.applyAsInt(5));
+        assertEquals(squareFunction.compose(doubleFunction).apply(5), PrimitiveFunctions.intChain(x -> x * 2, x -> x * x).applyAsInt(5));
+        assertEquals(50L, PrimitiveFunctions.longChain(x -> x * x, x -> x * 2).applyAsLong(5L));
+        assertEquals(50.0, PrimitiveFunctions.doubleChain(x -> x * x, x -> x * 2).applyAsDouble(5.0));
+        assertEquals(7, PrimitiveFunctions.intChain().applyAsInt(7));
+    }
+
+    @Test
+    public void testConversionFromBoxedFunctions() {
+        Function<Integer, Integer> squareFunction = x -> x * x;
+
+        assertEquals(25, PrimitiveFunctions.ofInt(squareFunction).applyAsInt(5));
+        assertEquals(25L, PrimitiveFunctions.ofLong(x -> x * x).applyAsLong(5L));
+        assertEquals(25.0, PrimitiveFunctions.ofDouble(x -> x * x).applyAsDouble(5.0));
+    }
+
+    @Test
+    public void testBoxedAdaptersUnwrapInsteadOfStacking() {
+        IntUnaryOperator intOperator = x -> x + 1;
+        LongUnaryOperator longOperator = x -> x + 1;
+        DoubleUnaryOperator doubleOperator = x -> x + 1;
+
+        assertEquals(2, PrimitiveFunctions.boxedInt(intOperator).apply(1));
+        assertSame(intOperator, PrimitiveFunctions.ofInt(PrimitiveFunctions.boxedInt(intOperator)));
+        assertSame(longOperator, PrimitiveFunctions.ofLong(PrimitiveFunctions.boxedLong(longOperator)));
+        assertSame(doubleOperator, PrimitiveFunctions.ofDouble(PrimitiveFunctions.boxedDouble(doubleOperator)));
+    }
+}
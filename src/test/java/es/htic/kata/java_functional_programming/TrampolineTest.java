@@ -0,0 +1,67 @@
+package es.htic.kata.java_functional_programming;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrampolineTest {
+    private static final int DEPTH = 1_000_000;
+
+    @Test
+    public void testDeepTailRecursion() {
+        //given mutually recursive even/odd, far deeper than the call stack allows
+        //when run
+        //then the result is computed in constant stack
+        assertTrue(isEven(DEPTH).run());
+        assertFalse(isEven(DEPTH + 1).run());
+    }
+
+    @Test
+    public void testDeepNonTailRecursion() {
+        //sum(n) = n + sum(n - 1): the addition is pending after the recursive call
+        assertEquals((long) DEPTH * (DEPTH + 1) / 2, sum(DEPTH).run());
+    }
+
+    @Test
+    public void testTreeShapedRecursion() {
+        assertEquals(BigInteger.valueOf(6765), fibonacci(20).run());
+    }
+
+    @Test
+    public void testLeftNestedFlatMaps() {
+        Trampoline<Integer> counter = Trampoline.done(0);
+        for (int i = 0; i < DEPTH; i++) {
+            counter = counter.map(x -> x + 1);
+        }
+
+        assertEquals(DEPTH, counter.run());
+    }
+
+    @Test
+    public void testDone() {
+        assertEquals("result", Trampoline.done("result").run());
+        assertNull(Trampoline.done(null).run());
+    }
+
+    private static Trampoline<Boolean> isEven(int n) {
+        return n == 0 ? Trampoline.done(true) : Trampoline.more(() -> isOdd(n - 1));
+    }
+
+    private static Trampoline<Boolean> isOdd(int n) {
+        return n == 0 ? Trampoline.done(false) : Trampoline.more(() -> isEven(n - 1));
+    }
+
+    private static Trampoline<Long> sum(int n) {
+        return n == 0 ? Trampoline.done(0L) : Trampoline.more(() -> sum(n - 1)).map(s -> s + n);
+    }
+
+    private static Trampoline<BigInteger> fibonacci(int n) {
+        if (n < 2) {
+            return Trampoline.done(BigInteger.valueOf(n));
+        }
+        return Trampoline.more(() -> fibonacci(n - 1))
+                .flatMap(a -> fibonacci(n - 2).map(a::add));
+    }
+}